@@ -0,0 +1,172 @@
+package com.onoprienko.datastructures.benchmarks;
+
+import com.onoprienko.datastructures.list.ArrayList;
+import com.onoprienko.datastructures.list.ChunkedArrayList;
+import com.onoprienko.datastructures.list.GapList;
+import com.onoprienko.datastructures.list.LinkedList;
+import com.onoprienko.datastructures.list.List;
+import com.onoprienko.datastructures.list.UnrolledLinkedList;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+interface BenchmarkList {
+    void add(Integer value);
+
+    void add(Integer value, int index);
+
+    void addAll(Collection<Integer> values);
+
+    Integer remove(int index);
+
+    boolean removeIf(Predicate<Integer> filter);
+
+    Integer get(int index);
+
+    int indexOf(Integer value);
+
+    int size();
+
+    Iterator<Integer> iterator();
+
+    void forEach(Consumer<Integer> action);
+
+    static BenchmarkList create(String implementation) {
+        switch (implementation) {
+            case "ArrayList":
+                return new OwnList(new ArrayList<>());
+            case "ChunkedArrayList":
+                return new OwnList(new ChunkedArrayList<>());
+            case "GapList":
+                return new OwnList(new GapList<>());
+            case "LinkedList":
+                return new OwnList(new LinkedList<>());
+            case "UnrolledLinkedList":
+                return new OwnList(new UnrolledLinkedList<>());
+            case "java.util.ArrayList":
+                return new JdkList(new java.util.ArrayList<>());
+            case "java.util.LinkedList":
+                return new JdkList(new java.util.LinkedList<>());
+            default:
+                throw new IllegalArgumentException("Unknown list implementation: " + implementation);
+        }
+    }
+
+    final class OwnList implements BenchmarkList {
+        private final List<Integer> list;
+
+        private OwnList(List<Integer> list) {
+            this.list = list;
+        }
+
+        @Override
+        public void add(Integer value) {
+            list.add(value);
+        }
+
+        @Override
+        public void add(Integer value, int index) {
+            list.add(value, index);
+        }
+
+        @Override
+        public void addAll(Collection<Integer> values) {
+            list.addAll(values);
+        }
+
+        @Override
+        public Integer remove(int index) {
+            return list.remove(index);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<Integer> filter) {
+            return list.removeIf(filter);
+        }
+
+        @Override
+        public Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public int indexOf(Integer value) {
+            return list.indexOf(value);
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<Integer> action) {
+            list.forEach(action);
+        }
+    }
+
+    final class JdkList implements BenchmarkList {
+        private final java.util.List<Integer> list;
+
+        private JdkList(java.util.List<Integer> list) {
+            this.list = list;
+        }
+
+        @Override
+        public void add(Integer value) {
+            list.add(value);
+        }
+
+        @Override
+        public void add(Integer value, int index) {
+            list.add(index, value);
+        }
+
+        @Override
+        public void addAll(Collection<Integer> values) {
+            list.addAll(values);
+        }
+
+        @Override
+        public Integer remove(int index) {
+            return list.remove(index);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<Integer> filter) {
+            return list.removeIf(filter);
+        }
+
+        @Override
+        public Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public int indexOf(Integer value) {
+            return list.indexOf(value);
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<Integer> action) {
+            list.forEach(action);
+        }
+    }
+}
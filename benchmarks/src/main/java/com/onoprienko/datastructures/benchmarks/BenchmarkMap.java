@@ -0,0 +1,121 @@
+package com.onoprienko.datastructures.benchmarks;
+
+import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.Map;
+
+interface BenchmarkMap {
+    Object put(Object key, Object value);
+
+    Object get(Object key);
+
+    Object remove(Object key);
+
+    int size();
+
+    long iterate();
+
+    long forEach();
+
+    static BenchmarkMap create(String implementation, int expectedSize) {
+        switch (implementation) {
+            case "HashMap":
+                return new OwnMap(new HashMap<>());
+            case "HashMap.presized":
+                return new OwnMap(new HashMap<>(expectedSize, 0.75));
+            case "HashMap.incremental":
+                return new OwnMap(new HashMap<>(16, true));
+            case "java.util.HashMap":
+                return new JdkMap(new java.util.HashMap<>());
+            default:
+                throw new IllegalArgumentException("Unknown map implementation: " + implementation);
+        }
+    }
+
+    final class OwnMap implements BenchmarkMap {
+        private final Map<Object, Object> map;
+
+        private OwnMap(Map<Object, Object> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public long iterate() {
+            long result = 0;
+            for (Map.Entry<Object, Object> entry : map) {
+                result += entry.getKey().hashCode();
+            }
+            return result;
+        }
+
+        @Override
+        public long forEach() {
+            long[] result = new long[1];
+            map.forEach((key, value) -> result[0] += key.hashCode());
+            return result[0];
+        }
+    }
+
+    final class JdkMap implements BenchmarkMap {
+        private final java.util.Map<Object, Object> map;
+
+        private JdkMap(java.util.Map<Object, Object> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public long iterate() {
+            long result = 0;
+            for (java.util.Map.Entry<Object, Object> entry : map.entrySet()) {
+                result += entry.getKey().hashCode();
+            }
+            return result;
+        }
+
+        @Override
+        public long forEach() {
+            long[] result = new long[1];
+            map.forEach((key, value) -> result[0] += key.hashCode());
+            return result[0];
+        }
+    }
+}
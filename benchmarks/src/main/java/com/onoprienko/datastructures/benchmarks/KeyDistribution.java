@@ -0,0 +1,72 @@
+package com.onoprienko.datastructures.benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public enum KeyDistribution {
+    SEQUENTIAL {
+        @Override
+        Object key(Random random, int index) {
+            return index;
+        }
+    },
+    RANDOM {
+        @Override
+        Object key(Random random, int index) {
+            return random.nextInt();
+        }
+    },
+    STRING {
+        @Override
+        Object key(Random random, int index) {
+            return "key-" + Long.toHexString(random.nextLong());
+        }
+    },
+    COLLIDING {
+        @Override
+        Object key(Random random, int index) {
+            return new CollidingKey(index);
+        }
+    };
+
+    abstract Object key(Random random, int index);
+
+    Object[] keys(long seed, int count, Set<Object> exclude) {
+        Random random = new Random(seed);
+        Set<Object> unique = new HashSet<>();
+        Object[] result = new Object[count];
+        int index = exclude.isEmpty() ? 0 : Integer.MAX_VALUE / 2;
+        while (unique.size() < count) {
+            Object key = key(random, index++);
+            if (!exclude.contains(key) && unique.add(key)) {
+                result[unique.size() - 1] = key;
+            }
+        }
+        return result;
+    }
+
+    static final class CollidingKey implements Comparable<CollidingKey> {
+        private static final int DISTINCT_HASHES = 64;
+        private final int value;
+
+        CollidingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % DISTINCT_HASHES;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(value, other.value);
+        }
+    }
+}
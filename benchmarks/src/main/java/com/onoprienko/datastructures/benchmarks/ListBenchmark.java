@@ -0,0 +1,133 @@
+package com.onoprienko.datastructures.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmark {
+    private static final int INDEX_MASK = 1023;
+
+    @Param({"ArrayList", "ChunkedArrayList", "GapList", "LinkedList", "UnrolledLinkedList", "java.util.ArrayList", "java.util.LinkedList"})
+    private String implementation;
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private BenchmarkList list;
+    private List<Integer> source;
+    private int[] randomIndexes;
+    private int cursor;
+    private Integer middleValue;
+    private Integer missingValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = BenchmarkList.create(implementation);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        source = new java.util.ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            source.add(i);
+        }
+        Random random = new Random(42);
+        randomIndexes = new int[INDEX_MASK + 1];
+        for (int i = 0; i < randomIndexes.length; i++) {
+            randomIndexes[i] = random.nextInt(size);
+        }
+        middleValue = size / 2;
+        missingValue = -1;
+    }
+
+    @Benchmark
+    public Integer addRemoveHead() {
+        list.add(-1, 0);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer addRemoveMiddle() {
+        int index = list.size() / 2;
+        list.add(-1, index);
+        return list.remove(index);
+    }
+
+    @Benchmark
+    public Integer addRemoveTail() {
+        list.add(-1);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer getRandomIndex() {
+        return list.get(randomIndexes[cursor++ & INDEX_MASK]);
+    }
+
+    @Benchmark
+    public void getSequentialIndexes(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        list.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public int indexOfHit() {
+        return list.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int indexOfMiss() {
+        return list.indexOf(missingValue);
+    }
+
+    @Benchmark
+    public BenchmarkList appendAll() {
+        BenchmarkList result = BenchmarkList.create(implementation);
+        for (int i = 0; i < size; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BenchmarkList addAllAndRemoveIfOdd() {
+        BenchmarkList result = BenchmarkList.create(implementation);
+        result.addAll(source);
+        result.removeIf(value -> (value & 1) == 1);
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package com.onoprienko.datastructures.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapBenchmark {
+    @Param({"HashMap", "HashMap.presized", "HashMap.incremental", "java.util.HashMap"})
+    private String implementation;
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRING", "COLLIDING"})
+    private KeyDistribution distribution;
+
+    private BenchmarkMap map;
+    private Object[] keys;
+    private Object[] missingKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.keys(42, size, Collections.emptySet());
+        missingKeys = distribution.keys(43, size, Set.copyOf(List.of(keys)));
+        map = BenchmarkMap.create(implementation, size);
+        for (Object key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return map.get(nextKey(keys));
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return map.get(nextKey(missingKeys));
+    }
+
+    @Benchmark
+    public Object putHit() {
+        Object key = nextKey(keys);
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Object removeAndPutHit() {
+        Object key = nextKey(keys);
+        Object value = map.remove(key);
+        map.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public Object removeMiss() {
+        return map.remove(nextKey(missingKeys));
+    }
+
+    @Benchmark
+    public long iterate() {
+        return map.iterate();
+    }
+
+    @Benchmark
+    public long forEach() {
+        return map.forEach();
+    }
+
+    @Benchmark
+    public BenchmarkMap putAll() {
+        BenchmarkMap result = BenchmarkMap.create(implementation, size);
+        for (Object key : keys) {
+            result.put(key, key);
+        }
+        return result;
+    }
+
+    private Object nextKey(Object[] source) {
+        int index = cursor++;
+        if (cursor == source.length) {
+            cursor = 0;
+        }
+        return source[index];
+    }
+}
@@ -0,0 +1,11 @@
+package com.onoprienko.datastructures.codec;
+
+import java.nio.ByteBuffer;
+
+public interface Codec<T> {
+    int size(T value);
+
+    void write(T value, ByteBuffer target);
+
+    T read(ByteBuffer source, int length);
+}
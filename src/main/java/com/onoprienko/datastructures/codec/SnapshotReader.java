@@ -0,0 +1,71 @@
+package com.onoprienko.datastructures.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+public final class SnapshotReader {
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(SnapshotWriter.BUFFER_SIZE).flip();
+
+    public SnapshotReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public int readHeader() throws IOException {
+        ensureAvailable(2 * Integer.BYTES);
+        if (buffer.getInt() != SnapshotWriter.MAGIC) {
+            throw new StreamCorruptedException("Channel does not contain a snapshot");
+        }
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new StreamCorruptedException("Negative snapshot entry count: " + count);
+        }
+        return count;
+    }
+
+    // the count comes from the stream, so a corrupt header must not decide how much is allocated up front
+    public static int initialCapacity(int count) {
+        return Math.min(count, MAX_INITIAL_CAPACITY);
+    }
+
+    public <T> T read(Codec<T> codec) throws IOException {
+        ensureAvailable(Integer.BYTES);
+        int length = buffer.getInt();
+        if (length == SnapshotWriter.NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0) {
+            throw new StreamCorruptedException("Negative value length: " + length);
+        }
+        ensureAvailable(length);
+        int start = buffer.position();
+        T value = codec.read(buffer, length);
+        buffer.position(start + length);
+        return value;
+    }
+
+
+    private void ensureAvailable(int length) throws IOException {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        if (buffer.capacity() < length) {
+            ByteBuffer larger = ByteBuffer.allocate(length);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < length) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Snapshot ended unexpectedly");
+            }
+        }
+        buffer.flip();
+    }
+}
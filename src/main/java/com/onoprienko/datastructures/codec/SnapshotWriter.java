@@ -0,0 +1,70 @@
+package com.onoprienko.datastructures.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public final class SnapshotWriter {
+    static final int MAGIC = 0x534E4150;
+    static final int NULL_LENGTH = -1;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    public SnapshotWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void writeHeader(int count) throws IOException {
+        ensureRemaining(2 * Integer.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(count);
+    }
+
+    public <T> void write(T value, Codec<T> codec) throws IOException {
+        if (value == null) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        int length = codec.size(value);
+        if (Integer.BYTES + length > buffer.capacity()) {
+            writeLarge(value, codec, length);
+            return;
+        }
+        ensureRemaining(Integer.BYTES + length);
+        buffer.putInt(length);
+        int start = buffer.position();
+        codec.write(value, buffer);
+        if (buffer.position() - start != length) {
+            throw new IllegalStateException("Codec wrote " + (buffer.position() - start) + " bytes, expected " + length);
+        }
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+
+    private <T> void writeLarge(T value, Codec<T> codec, int length) throws IOException {
+        flush();
+        ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + length);
+        large.putInt(length);
+        codec.write(value, large);
+        large.flip();
+        while (large.hasRemaining()) {
+            channel.write(large);
+        }
+    }
+
+    private void ensureRemaining(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.onoprienko.datastructures.list;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
 
 public abstract class AbstractList<T> implements List<T> {
     protected int size;
@@ -25,6 +32,85 @@ public abstract class AbstractList<T> implements List<T> {
         add(value, size);
     }
 
+    @Override
+    public void addAll(Collection<? extends T> values) {
+        addAll(values, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends T> values, int index) {
+        validateIndexForMethodAdd(index);
+        for (T value : values) {
+            add(value, index);
+            index++;
+        }
+    }
+
+    @Override
+    public void addAll(T[] values) {
+        addAll(Arrays.asList(values), size);
+    }
+
+    @Override
+    public void addAll(T[] values, int index) {
+        addAll(Arrays.asList(values), index);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        validateRange(fromIndex, toIndex);
+        ListIterator<T> iterator = listIterator(fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = false;
+        Iterator<T> iterator = iterator();
+        while (iterator.hasNext()) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> values) {
+        return removeIf(value -> !values.contains(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        Object[] values = new Object[size];
+        int index = 0;
+        for (T value : this) {
+            values[index++] = value;
+        }
+        Arrays.sort(values, (Comparator<Object>) comparator);
+        ListIterator<T> iterator = listIterator();
+        for (Object value : values) {
+            iterator.next();
+            iterator.set((T) value);
+        }
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        validateIndexForMethodAdd(index);
+        return new IndexListIterator(index);
+    }
+
     @Override
     public String toString() {
         StringJoiner result = new StringJoiner(", ", "[", "]");
@@ -46,4 +132,85 @@ public abstract class AbstractList<T> implements List<T> {
             throw new IndexOutOfBoundsException("Index must be between 0 and " + size);
         }
     }
+
+    protected void validateRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex
+                    + ") is out of bounds for size " + size);
+        }
+    }
+
+    private class IndexListIterator implements ListIterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+
+        private IndexListIterator(int index) {
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            if (cursor >= size) {
+                throw new NoSuchElementException("No next value found");
+            }
+            lastReturned = cursor;
+            cursor++;
+            return get(lastReturned);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (cursor <= 0) {
+                throw new NoSuchElementException("No previous value found");
+            }
+            cursor--;
+            lastReturned = cursor;
+            return get(lastReturned);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Value already removed!");
+            }
+            AbstractList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(T value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("No value to set");
+            }
+            AbstractList.this.set(value, lastReturned);
+        }
+
+        @Override
+        public void add(T value) {
+            AbstractList.this.add(value, cursor);
+            cursor++;
+            lastReturned = -1;
+        }
+    }
 }
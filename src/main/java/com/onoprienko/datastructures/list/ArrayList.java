@@ -1,10 +1,27 @@
 package com.onoprienko.datastructures.list;
 
+import com.onoprienko.datastructures.codec.Codec;
+import com.onoprienko.datastructures.codec.SnapshotReader;
+import com.onoprienko.datastructures.codec.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ArrayList<T> extends AbstractList<T> {
     private static final int DEFAULT_INITIAL_CAPACITY = 10;
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
     private T[] array;
 
     public ArrayList() {
@@ -21,23 +38,72 @@ public class ArrayList<T> extends AbstractList<T> {
     @Override
     public void add(T value, int index) {
         validateIndexForMethodAdd(index);
-        ensureCapacity();
+        ensureCapacity(size + 1);
         System.arraycopy(array, index, array, index + 1, size - index);
         array[index] = value;
         size++;
     }
 
+    @Override
+    public void addAll(Collection<? extends T> values, int index) {
+        validateIndexForMethodAdd(index);
+        insertAll(values.toArray(), index);
+    }
+
+    @Override
+    public void addAll(T[] values, int index) {
+        validateIndexForMethodAdd(index);
+        insertAll(values, index);
+    }
+
     @Override
     public T remove(int index) {
         validateIndex(index);
         T deletedValue = array[index];
-        System.arraycopy(array, index + 1, array, index, size - index);
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
         array[size - 1] = null;
         size--;
         return deletedValue;
 
     }
 
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        validateRange(fromIndex, toIndex);
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        int read = 0;
+        while (read < size && !filter.test(array[read])) {
+            read++;
+        }
+        if (read == size) {
+            return false;
+        }
+        int write = read;
+        read++;
+        try {
+            for (; read < size; read++) {
+                T value = array[read];
+                if (!filter.test(value)) {
+                    array[write] = value;
+                    write++;
+                }
+            }
+        } finally {
+            System.arraycopy(array, read, array, write, size - read);
+            int newSize = write + size - read;
+            Arrays.fill(array, newSize, size, null);
+            size = newSize;
+        }
+        return true;
+    }
+
     @Override
     public T get(int index) {
         validateIndex(index);
@@ -81,47 +147,154 @@ public class ArrayList<T> extends AbstractList<T> {
     }
 
 
+    private void insertAll(Object[] values, int index) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(array, index, array, index + values.length, size - index);
+        System.arraycopy(values, 0, array, index, values.length);
+        size += values.length;
+    }
+
     @SuppressWarnings("unchecked")
-    private void ensureCapacity() {
-        if (array.length == size) {
-            T[] newArray = (T[]) new Object[(array.length * 3 / 2 + 1)];
-            System.arraycopy(array, 0, newArray, 0, array.length);
+    private void ensureCapacity(int requiredCapacity) {
+        if (array.length < requiredCapacity) {
+            T[] newArray = (T[]) new Object[newCapacity(array.length, requiredCapacity)];
+            System.arraycopy(array, 0, newArray, 0, size);
             array = newArray;
         }
     }
 
+    static int newCapacity(int currentCapacity, int requiredCapacity) {
+        return Math.max(currentCapacity * 3 / 2 + 1, requiredCapacity);
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (size < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(array, 0, size, comparator);
+        } else {
+            Arrays.parallelSort(array, 0, size, comparator);
+        }
+    }
+
+    public int binarySearch(T value, Comparator<? super T> comparator) {
+        return Arrays.binarySearch(array, 0, size, value, comparator);
+    }
+
+    public void writeSnapshot(WritableByteChannel channel, Codec<T> codec) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(channel);
+        writer.writeHeader(size);
+        for (int i = 0; i < size; i++) {
+            writer.write(array[i], codec);
+        }
+        writer.flush();
+    }
+
+    public static <T> ArrayList<T> readSnapshot(ReadableByteChannel channel, Codec<T> codec) throws IOException {
+        SnapshotReader reader = new SnapshotReader(channel);
+        int count = reader.readHeader();
+        ArrayList<T> list = new ArrayList<>(SnapshotReader.initialCapacity(count));
+        for (int i = 0; i < count; i++) {
+            list.add(reader.read(codec));
+        }
+        return list;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        T[] array = this.array;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            action.accept(array[i]);
+        }
+    }
+
     @Override
     public Iterator<T> iterator() {
-        return new ArrayListIterator();
+        return new ArrayListIterator(0);
     }
 
-    private class ArrayListIterator implements Iterator<T> {
-        private int index = 0;
-        private boolean canRemove;
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        validateIndexForMethodAdd(index);
+        return new ArrayListIterator(index);
+    }
+
+    private class ArrayListIterator implements ListIterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+
+        private ArrayListIterator(int index) {
+            this.cursor = index;
+        }
 
         @Override
         public boolean hasNext() {
-            return index < size;
+            return cursor < size;
         }
 
         @Override
         public T next() {
-            T value = array[index];
-            index++;
-            canRemove = true;
-            return value;
+            if (cursor >= size) {
+                throw new NoSuchElementException("No next value found");
+            }
+            lastReturned = cursor;
+            cursor++;
+            return array[lastReturned];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (cursor <= 0) {
+                throw new NoSuchElementException("No previous value found");
+            }
+            cursor--;
+            lastReturned = cursor;
+            return array[lastReturned];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
         }
 
         @Override
         public void remove() {
-            if (!canRemove) {
+            if (lastReturned < 0) {
                 throw new IllegalStateException("Value already removed!");
+            }
+            ArrayList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
 
+        @Override
+        public void set(T value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("No value to set");
             }
+            array[lastReturned] = value;
+        }
 
-            ArrayList.this.remove(index - 1);
-            canRemove = false;
-            index--;
+        @Override
+        public void add(T value) {
+            ArrayList.this.add(value, cursor);
+            cursor++;
+            lastReturned = -1;
         }
     }
 }
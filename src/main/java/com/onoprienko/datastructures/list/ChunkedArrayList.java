@@ -0,0 +1,211 @@
+package com.onoprienko.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class ChunkedArrayList<T> extends AbstractList<T> {
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final int INITIAL_SPINE_CAPACITY = 8;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private Object[][] chunks;
+    private int chunkCount;
+
+    public ChunkedArrayList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedArrayList(int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a positive power of two: " + chunkSize);
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        this.chunks = new Object[INITIAL_SPINE_CAPACITY][];
+    }
+
+
+    @Override
+    public void add(T value) {
+        int chunk = size >>> chunkShift;
+        ensureChunk(chunk);
+        chunks[chunk][size & chunkMask] = value;
+        size++;
+    }
+
+    @Override
+    public void add(T value, int index) {
+        validateIndexForMethodAdd(index);
+        int first = index >>> chunkShift;
+        int offset = index & chunkMask;
+        int last = size >>> chunkShift;
+        ensureChunk(last);
+        for (int chunk = last; chunk > first; chunk--) {
+            Object[] current = chunks[chunk];
+            int length = chunk == last ? size & chunkMask : chunkMask;
+            System.arraycopy(current, 0, current, 1, length);
+            current[0] = chunks[chunk - 1][chunkMask];
+        }
+        Object[] current = chunks[first];
+        int end = first == last ? size & chunkMask : chunkMask;
+        System.arraycopy(current, offset, current, offset + 1, end - offset);
+        current[offset] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int index) {
+        validateIndex(index);
+        int first = index >>> chunkShift;
+        int offset = index & chunkMask;
+        int lastIndex = size - 1;
+        int last = lastIndex >>> chunkShift;
+        Object[] current = chunks[first];
+        T deletedValue = (T) current[offset];
+        int end = first == last ? lastIndex & chunkMask : chunkMask;
+        System.arraycopy(current, offset + 1, current, offset, end - offset);
+        for (int chunk = first + 1; chunk <= last; chunk++) {
+            Object[] next = chunks[chunk];
+            chunks[chunk - 1][chunkMask] = next[0];
+            int length = chunk == last ? lastIndex & chunkMask : chunkMask;
+            System.arraycopy(next, 1, next, 0, length);
+        }
+        chunks[last][lastIndex & chunkMask] = null;
+        size--;
+        releaseUnusedChunks();
+        return deletedValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return (T) chunks[index >>> chunkShift][index & chunkMask];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set(T value, int index) {
+        validateIndex(index);
+        Object[] chunk = chunks[index >>> chunkShift];
+        T oldValue = (T) chunk[index & chunkMask];
+        chunk[index & chunkMask] = value;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[INITIAL_SPINE_CAPACITY][];
+        chunkCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int remaining = size;
+        for (int chunk = 0; remaining > 0; chunk++) {
+            Object[] current = chunks[chunk];
+            int length = Math.min(remaining, current.length);
+            for (int i = 0; i < length; i++) {
+                if (Objects.equals(value, current[i])) {
+                    return (chunk << chunkShift) + i;
+                }
+            }
+            remaining -= length;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        if (size == 0) {
+            return -1;
+        }
+        int lastIndex = size - 1;
+        for (int chunk = lastIndex >>> chunkShift; chunk >= 0; chunk--) {
+            Object[] current = chunks[chunk];
+            int start = chunk == lastIndex >>> chunkShift ? lastIndex & chunkMask : chunkMask;
+            for (int i = start; i >= 0; i--) {
+                if (Objects.equals(value, current[i])) {
+                    return (chunk << chunkShift) + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int remaining = size;
+        for (int chunk = 0; remaining > 0; chunk++) {
+            Object[] current = chunks[chunk];
+            int length = Math.min(remaining, current.length);
+            for (int i = 0; i < length; i++) {
+                action.accept((T) current[i]);
+            }
+            remaining -= length;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkedArrayListIterator();
+    }
+
+
+    private void ensureChunk(int chunk) {
+        if (chunk < chunkCount) {
+            return;
+        }
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunk] = new Object[chunkMask + 1];
+        chunkCount++;
+    }
+
+    private void releaseUnusedChunks() {
+        int usedChunks = (size + chunkMask) >>> chunkShift;
+        while (chunkCount > usedChunks + 1) {
+            chunks[--chunkCount] = null;
+        }
+    }
+
+    private class ChunkedArrayListIterator implements Iterator<T> {
+        private int index;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException("No next value found");
+            }
+            T value = (T) chunks[index >>> chunkShift][index & chunkMask];
+            index++;
+            canRemove = true;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException("Value already removed!");
+            }
+            ChunkedArrayList.this.remove(index - 1);
+            canRemove = false;
+            index--;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.onoprienko.datastructures.list;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.function.DoubleConsumer;
+
+public class DoubleArrayList {
+    private static final int DEFAULT_INITIAL_CAPACITY = 10;
+    private double[] array;
+    private int size;
+
+    public DoubleArrayList() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public DoubleArrayList(int initialCapacity) {
+        array = new double[initialCapacity];
+    }
+
+
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        array[size] = value;
+        size++;
+    }
+
+    public void addDouble(double value, int index) {
+        validateIndexForMethodAdd(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    public void addAll(double[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length
+                    + ") is out of bounds for length " + values.length);
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, array, size, length);
+        size += length;
+    }
+
+    public double removeDouble(int index) {
+        validateIndex(index);
+        double deletedValue = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return deletedValue;
+    }
+
+    public double getDouble(int index) {
+        validateIndex(index);
+        return array[index];
+    }
+
+    public double setDouble(double value, int index) {
+        validateIndex(index);
+        double oldValue = array[index];
+        array[index] = value;
+        return oldValue;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(array[i]) == Double.doubleToLongBits(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(double value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Double.doubleToLongBits(array[i]) == Double.doubleToLongBits(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void sort() {
+        RadixSort.sort(array, size);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    public void forEachDouble(DoubleConsumer action) {
+        double[] array = this.array;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            action.accept(array[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            result.add(String.valueOf(array[i]));
+        }
+        return result.toString();
+    }
+
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (array.length < requiredCapacity) {
+            array = Arrays.copyOf(array, ArrayList.newCapacity(array.length, requiredCapacity));
+        }
+    }
+
+    private void validateIndex(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index must be between 0 and " + size);
+        }
+    }
+
+    private void validateIndexForMethodAdd(int index) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("Index must be between 0 and " + size);
+        }
+    }
+}
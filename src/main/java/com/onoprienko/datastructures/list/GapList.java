@@ -0,0 +1,193 @@
+package com.onoprienko.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class GapList<T> extends AbstractList<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 10;
+    private Object[] array;
+    private int gapStart;
+    private int gapEnd;
+
+    public GapList() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public GapList(int initialCapacity) {
+        array = new Object[initialCapacity];
+        gapEnd = initialCapacity;
+    }
+
+
+    @Override
+    public void add(T value, int index) {
+        validateIndexForMethodAdd(index);
+        ensureCapacity();
+        moveGap(index);
+        array[gapStart] = value;
+        gapStart++;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int index) {
+        validateIndex(index);
+        T deletedValue;
+        if (index < gapStart) {
+            moveGap(index + 1);
+            gapStart--;
+            deletedValue = (T) array[gapStart];
+            array[gapStart] = null;
+        } else {
+            moveGap(index);
+            deletedValue = (T) array[gapEnd];
+            array[gapEnd] = null;
+            gapEnd++;
+        }
+        size--;
+        return deletedValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return (T) array[physicalIndex(index)];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set(T value, int index) {
+        validateIndex(index);
+        int physicalIndex = physicalIndex(index);
+        T oldValue = (T) array[physicalIndex];
+        array[physicalIndex] = value;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, null);
+        gapStart = 0;
+        gapEnd = array.length;
+        size = 0;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < gapStart; i++) {
+            if (Objects.equals(value, array[i])) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < array.length; i++) {
+            if (Objects.equals(value, array[i])) {
+                return i - gapLength();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        for (int i = array.length - 1; i >= gapEnd; i--) {
+            if (Objects.equals(value, array[i])) {
+                return i - gapLength();
+            }
+        }
+        for (int i = gapStart - 1; i >= 0; i--) {
+            if (Objects.equals(value, array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Object[] array = this.array;
+        for (int i = 0; i < gapStart; i++) {
+            action.accept((T) array[i]);
+        }
+        for (int i = gapEnd; i < array.length; i++) {
+            action.accept((T) array[i]);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new GapListIterator();
+    }
+
+
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    private void moveGap(int index) {
+        int gapLength = gapLength();
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(array, index, array, index + gapLength, count);
+            Arrays.fill(array, index, Math.min(gapStart, index + gapLength), null);
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(array, gapEnd, array, gapStart, count);
+            Arrays.fill(array, Math.max(gapEnd, index), gapEnd + count, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    private void ensureCapacity() {
+        if (gapStart == gapEnd) {
+            Object[] newArray = new Object[ArrayList.newCapacity(array.length, size + 1)];
+            int tailLength = array.length - gapEnd;
+            System.arraycopy(array, 0, newArray, 0, gapStart);
+            System.arraycopy(array, gapEnd, newArray, newArray.length - tailLength, tailLength);
+            gapEnd = newArray.length - tailLength;
+            array = newArray;
+        }
+    }
+
+    private class GapListIterator implements Iterator<T> {
+        private int index = 0;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException("No next value found");
+            }
+            T value = (T) array[physicalIndex(index)];
+            index++;
+            canRemove = true;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException("Value already removed!");
+            }
+            GapList.this.remove(index - 1);
+            canRemove = false;
+            index--;
+        }
+    }
+}
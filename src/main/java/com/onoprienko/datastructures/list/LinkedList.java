@@ -1,42 +1,158 @@
 package com.onoprienko.datastructures.list;
 
+import com.onoprienko.datastructures.codec.Codec;
+import com.onoprienko.datastructures.codec.SnapshotReader;
+import com.onoprienko.datastructures.codec.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class LinkedList<T> extends AbstractList<T> {
     private Node<T> head;
     private Node<T> tail;
+    private Node<T> finger;
+    private int fingerIndex;
 
 
     @Override
     public void add(T value, int index) {
         validateIndexForMethodAdd(index);
 
+        Node<T> newNode = linkBefore(value, index == size ? null : getNode(index));
+        finger = newNode;
+        fingerIndex = index;
+    }
+
+    private Node<T> linkBefore(T value, Node<T> successor) {
         Node<T> newNode = new Node<>(value);
         if (size == 0) {
             head = tail = newNode;
-        } else if (index == size) {
+        } else if (successor == null) {
             tail.next = newNode;
             newNode.prev = tail;
             tail = newNode;
-        } else if (index == 0) {
+        } else if (successor == head) {
             head.prev = newNode;
             newNode.next = head;
             head = newNode;
         } else {
-            Node<T> current = getNode(index);
-            newNode.next = current;
-            newNode.prev = current.prev;
-            current.prev.next = newNode;
+            newNode.next = successor;
+            newNode.prev = successor.prev;
+            successor.prev.next = newNode;
+            successor.prev = newNode;
         }
         size++;
+        finger = null;
+        return newNode;
+    }
+
+    @Override
+    public void addAll(Collection<? extends T> values, int index) {
+        validateIndexForMethodAdd(index);
+        if (values.isEmpty()) {
+            return;
+        }
+        Node<T> successor = index == size ? null : getNode(index);
+        Node<T> first = null;
+        Node<T> last = null;
+        int count = 0;
+        for (T value : values) {
+            Node<T> newNode = new Node<>(value);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.next = newNode;
+                newNode.prev = last;
+            }
+            last = newNode;
+            count++;
+        }
+        Node<T> predecessor = successor == null ? tail : successor.prev;
+        first.prev = predecessor;
+        last.next = successor;
+        if (predecessor == null) {
+            head = first;
+        } else {
+            predecessor.next = first;
+        }
+        if (successor == null) {
+            tail = last;
+        } else {
+            successor.prev = last;
+        }
+        size += count;
+        finger = first;
+        fingerIndex = index;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        validateRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        Node<T> successor = getNode(fromIndex);
+        Node<T> predecessor = successor.prev;
+        for (int i = fromIndex; i < toIndex; i++) {
+            Node<T> next = successor.next;
+            successor.prev = null;
+            successor.next = null;
+            successor.value = null;
+            successor = next;
+        }
+        if (predecessor == null) {
+            head = successor;
+        } else {
+            predecessor.next = successor;
+        }
+        if (successor == null) {
+            tail = predecessor;
+        } else {
+            successor.prev = predecessor;
+        }
+        size -= toIndex - fromIndex;
+        finger = null;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = false;
+        Node<T> current = head;
+        while (current != null) {
+            Node<T> next = current.next;
+            if (filter.test(current.value)) {
+                remove(current);
+                removed = true;
+            }
+            current = next;
+        }
+        return removed;
     }
 
     @Override
     public T remove(int index) {
         validateIndex(index);
-        return remove(getNode(index));
+        Node<T> nodeToRemove = getNode(index);
+        T value = remove(nodeToRemove);
+        if (nodeToRemove.next != null) {
+            finger = nodeToRemove.next;
+            fingerIndex = index;
+        } else if (nodeToRemove.prev != null) {
+            finger = nodeToRemove.prev;
+            fingerIndex = index - 1;
+        }
+        return value;
     }
 
     private T remove(Node<T> nodeToRemove) {
@@ -48,6 +164,7 @@ public class LinkedList<T> extends AbstractList<T> {
             head = tail = null;
         } else if (nodeToRemove == head) {
             head = nextNode;
+            nextNode.prev = null;
         } else if (nodeToRemove == tail) {
             tail = prevNode;
             prevNode.next = null;
@@ -56,24 +173,33 @@ public class LinkedList<T> extends AbstractList<T> {
             nextNode.prev = prevNode;
         }
         size--;
+        finger = null;
         return nodeToRemove.value;
     }
 
     private Node<T> getNode(int index) {
+        Node<T> current;
+        int currentIndex;
         if (index <= size / 2) {
-            Node<T> currentFromHead = head;
-            for (int i = 0; i < index; i++) {
-                currentFromHead = currentFromHead.next;
-            }
-            return currentFromHead;
+            current = head;
+            currentIndex = 0;
         } else {
-            Node<T> currentFromTail = tail;
-            for (int i = size - 1; i > index; i--) {
-                currentFromTail = currentFromTail.prev;
-
-            }
-            return currentFromTail;
+            current = tail;
+            currentIndex = size - 1;
+        }
+        if (finger != null && Math.abs(index - fingerIndex) < Math.abs(index - currentIndex)) {
+            current = finger;
+            currentIndex = fingerIndex;
+        }
+        for (; currentIndex < index; currentIndex++) {
+            current = current.next;
+        }
+        for (; currentIndex > index; currentIndex--) {
+            current = current.prev;
         }
+        finger = current;
+        fingerIndex = index;
+        return current;
     }
 
     @Override
@@ -95,14 +221,14 @@ public class LinkedList<T> extends AbstractList<T> {
 
     @Override
     public void clear() {
-        head = tail = null;
+        head = tail = finger = null;
         size = 0;
     }
 
     @Override
     public int indexOf(T value) {
         Node<T> current = head;
-        for (int i = 0; i < size - 1; i++) {
+        for (int i = 0; i < size; i++) {
             if (Objects.equals(current.value, value)) {
                 return i;
             }
@@ -124,18 +250,117 @@ public class LinkedList<T> extends AbstractList<T> {
     }
 
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        Comparator<? super T> order = comparator == null ? (Comparator<? super T>) Comparator.naturalOrder() : comparator;
+        Node<T> first = head;
+        for (int runLength = 1; runLength < size; runLength *= 2) {
+            Node<T> remaining = first;
+            Node<T> mergedHead = null;
+            Node<T> mergedTail = null;
+            while (remaining != null) {
+                Node<T> left = remaining;
+                Node<T> right = split(left, runLength);
+                remaining = split(right, runLength);
+                while (left != null || right != null) {
+                    Node<T> next;
+                    if (right == null || (left != null && order.compare(left.value, right.value) <= 0)) {
+                        next = left;
+                        left = left.next;
+                    } else {
+                        next = right;
+                        right = right.next;
+                    }
+                    if (mergedTail == null) {
+                        mergedHead = next;
+                    } else {
+                        mergedTail.next = next;
+                    }
+                    mergedTail = next;
+                }
+                mergedTail.next = null;
+            }
+            first = mergedHead;
+        }
+        Node<T> previous = null;
+        for (Node<T> node = first; node != null; node = node.next) {
+            node.prev = previous;
+            previous = node;
+        }
+        head = first;
+        tail = previous;
+        finger = null;
+    }
+
+    private Node<T> split(Node<T> first, int length) {
+        Node<T> last = first;
+        for (int i = 1; last != null && i < length; i++) {
+            last = last.next;
+        }
+        if (last == null) {
+            return null;
+        }
+        Node<T> rest = last.next;
+        last.next = null;
+        return rest;
+    }
+
+    public void writeSnapshot(WritableByteChannel channel, Codec<T> codec) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(channel);
+        writer.writeHeader(size);
+        for (Node<T> node = head; node != null; node = node.next) {
+            writer.write(node.value, codec);
+        }
+        writer.flush();
+    }
+
+    public static <T> LinkedList<T> readSnapshot(ReadableByteChannel channel, Codec<T> codec) throws IOException {
+        SnapshotReader reader = new SnapshotReader(channel);
+        int count = reader.readHeader();
+        LinkedList<T> list = new LinkedList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(reader.read(codec));
+        }
+        return list;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (Node<T> node = head; node != null; node = node.next) {
+            action.accept(node.value);
+        }
+    }
+
     @Override
     public Iterator<T> iterator() {
-        return new LinkedListIterator();
+        return new LinkedListIterator(head, 0);
     }
 
-    public class LinkedListIterator implements Iterator<T> {
-        private Node<T> current = head;
-        private boolean canRemove;
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedListSpliterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        validateIndexForMethodAdd(index);
+        return new LinkedListIterator(index == size ? null : getNode(index), index);
+    }
+
+    public class LinkedListIterator implements ListIterator<T> {
+        private Node<T> current;
+        private Node<T> lastReturned;
+        private int nextIndex;
+
+        private LinkedListIterator(Node<T> current, int nextIndex) {
+            this.current = current;
+            this.nextIndex = nextIndex;
+        }
 
         @Override
         public boolean hasNext() {
-            return (current != null);
+            return nextIndex < size;
         }
 
         @Override
@@ -143,24 +368,124 @@ public class LinkedList<T> extends AbstractList<T> {
             if (current == null) {
                 throw new NoSuchElementException("No next value to iterate");
             }
-            T value = current.value;
+            lastReturned = current;
             current = current.next;
-            canRemove = true;
-            return value;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (nextIndex == 0) {
+                throw new NoSuchElementException("No previous value to iterate");
+            }
+            current = current == null ? tail : current.prev;
+            lastReturned = current;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
         }
 
         @Override
         public void remove() {
-            if (!canRemove) {
+            if (lastReturned == null) {
                 throw new IllegalStateException("Value already removed!");
             }
-            if (current == null) {
-                tail = tail.prev;
-                size--;
+            if (lastReturned == current) {
+                current = lastReturned.next;
             } else {
-                LinkedList.this.remove(current);
+                nextIndex--;
             }
-            canRemove = false;
+            LinkedList.this.remove(lastReturned);
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(T value) {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No value to set");
+            }
+            lastReturned.value = value;
+        }
+
+        @Override
+        public void add(T value) {
+            linkBefore(value, current);
+            nextIndex++;
+            lastReturned = null;
+        }
+    }
+
+    private class LinkedListSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+        private Node<T> current = head;
+        private int remaining = size;
+        private int batch;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining <= 0 || current == null) {
+                return false;
+            }
+            T value = current.value;
+            current = current.next;
+            remaining--;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Node<T> node = current;
+            int count = remaining;
+            current = null;
+            remaining = 0;
+            for (; count > 0 && node != null; count--) {
+                action.accept(node.value);
+                node = node.next;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining <= 1 || current == null) {
+                return null;
+            }
+            int batchSize = Math.min(Math.min(batch + BATCH_UNIT, remaining), MAX_BATCH);
+            Object[] values = new Object[batchSize];
+            int count = 0;
+            do {
+                values[count++] = current.value;
+                current = current.next;
+            } while (current != null && count < batchSize);
+            batch = count;
+            remaining -= count;
+            return Spliterators.spliterator(values, 0, count, Spliterator.ORDERED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
     }
 
@@ -1,12 +1,35 @@
 package com.onoprienko.datastructures.list;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface List<T> extends Iterable<T> {
     void add(T value);
 
     void add(T value, int index);
 
+    void addAll(Collection<? extends T> values);
+
+    void addAll(Collection<? extends T> values, int index);
+
+    void addAll(T[] values);
+
+    void addAll(T[] values, int index);
+
     T remove(int index);
 
+    void removeRange(int fromIndex, int toIndex);
+
+    boolean removeIf(Predicate<? super T> filter);
+
+    boolean retainAll(Collection<?> values);
+
     T get(int index);
 
     T set(T value, int index);
@@ -22,4 +45,23 @@ public interface List<T> extends Iterable<T> {
     int indexOf(T value);
 
     int lastIndexOf(T value);
+
+    void sort(Comparator<? super T> comparator);
+
+    ListIterator<T> listIterator();
+
+    ListIterator<T> listIterator(int index);
+
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,109 @@
+package com.onoprienko.datastructures.list;
+
+import java.util.Arrays;
+
+final class RadixSort {
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+    private static final int SMALL_ARRAY_THRESHOLD = 64;
+
+    private RadixSort() {
+    }
+
+    static void sort(int[] values, int length) {
+        if (length < SMALL_ARRAY_THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+        int[] source = values;
+        int[] target = new int[length];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[digit(source[i], shift)]++;
+            }
+            if (counts[digit(source[0], shift)] == length) {
+                continue;
+            }
+            toPositions(counts);
+            for (int i = 0; i < length; i++) {
+                int value = source[i];
+                target[counts[digit(value, shift)]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    static void sort(long[] values, int length) {
+        if (length < SMALL_ARRAY_THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+        long[] source = values;
+        long[] target = new long[length];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[digit(source[i], shift)]++;
+            }
+            if (counts[digit(source[0], shift)] == length) {
+                continue;
+            }
+            toPositions(counts);
+            for (int i = 0; i < length; i++) {
+                long value = source[i];
+                target[counts[digit(value, shift)]++] = value;
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    static void sort(double[] values, int length) {
+        if (length < SMALL_ARRAY_THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = sortableBits(Double.doubleToLongBits(values[i]));
+        }
+        sort(keys, length);
+        for (int i = 0; i < length; i++) {
+            values[i] = Double.longBitsToDouble(sortableBits(keys[i]));
+        }
+    }
+
+    private static long sortableBits(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    private static int digit(long value, int shift) {
+        return (int) ((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    private static void toPositions(int[] counts) {
+        int position = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            counts[i] = position;
+            position += count;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.onoprienko.datastructures.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class UnrolledLinkedList<T> extends AbstractList<T> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+    private static final int MIN_NODE_CAPACITY = 4;
+
+    private final int nodeCapacity;
+    private Node head;
+    private Node tail;
+    private int offsetInNode;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < MIN_NODE_CAPACITY) {
+            throw new IllegalArgumentException("Node capacity must be at least " + MIN_NODE_CAPACITY + ": " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+
+    @Override
+    public void add(T value) {
+        if (tail == null || tail.count == nodeCapacity) {
+            linkAfter(tail, new Node());
+        }
+        tail.elements[tail.count++] = value;
+        size++;
+    }
+
+    @Override
+    public void add(T value, int index) {
+        validateIndexForMethodAdd(index);
+        if (index == size) {
+            add(value);
+            return;
+        }
+        Node node = nodeFor(index);
+        int offset = offsetInNode;
+        if (node.count == nodeCapacity) {
+            Node newNode = split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = newNode;
+            }
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = value;
+        node.count++;
+        size++;
+    }
+
+    @Override
+    public T remove(int index) {
+        validateIndex(index);
+        Node node = nodeFor(index);
+        return removeAt(node, offsetInNode);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        Node node = nodeFor(index);
+        return (T) node.elements[offsetInNode];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set(T value, int index) {
+        validateIndex(index);
+        Node node = nodeFor(index);
+        T oldValue = (T) node.elements[offsetInNode];
+        node.elements[offsetInNode] = value;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int index = 0;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(value, node.elements[i])) {
+                    return index + i;
+                }
+            }
+            index += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        int index = size;
+        for (Node node = tail; node != null; node = node.prev) {
+            index -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (Objects.equals(value, node.elements[i])) {
+                    return index + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (Node node = head; node != null; node = node.next) {
+            Object[] elements = node.elements;
+            for (int i = 0; i < node.count; i++) {
+                action.accept((T) elements[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator();
+    }
+
+
+    private Node nodeFor(int index) {
+        if (index < size / 2) {
+            Node node = head;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            offsetInNode = index;
+            return node;
+        }
+        Node node = tail;
+        int nodeStart = size - node.count;
+        while (index < nodeStart) {
+            node = node.prev;
+            nodeStart -= node.count;
+        }
+        offsetInNode = index - nodeStart;
+        return node;
+    }
+
+    private Node split(Node node) {
+        Node newNode = new Node();
+        int moved = node.count / 2;
+        int from = node.count - moved;
+        System.arraycopy(node.elements, from, newNode.elements, 0, moved);
+        clearSlots(node, from, node.count);
+        newNode.count = moved;
+        node.count = from;
+        linkAfter(node, newNode);
+        return newNode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeAt(Node node, int offset) {
+        T deletedValue = (T) node.elements[offset];
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.count--;
+        node.elements[node.count] = null;
+        size--;
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 2 && node.next != null) {
+            rebalanceWithNext(node);
+        }
+        return deletedValue;
+    }
+
+    private void rebalanceWithNext(Node node) {
+        Node next = node.next;
+        if (node.count + next.count <= nodeCapacity) {
+            System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+            node.count += next.count;
+            unlink(next);
+            return;
+        }
+        int moved = (next.count - node.count) / 2;
+        System.arraycopy(next.elements, 0, node.elements, node.count, moved);
+        System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+        clearSlots(next, next.count - moved, next.count);
+        node.count += moved;
+        next.count -= moved;
+    }
+
+    private void clearSlots(Node node, int from, int to) {
+        for (int i = from; i < to; i++) {
+            node.elements[i] = null;
+        }
+    }
+
+    private void linkAfter(Node node, Node newNode) {
+        newNode.prev = node;
+        if (node == null) {
+            newNode.next = head;
+            head = newNode;
+        } else {
+            newNode.next = node.next;
+            node.next = newNode;
+        }
+        if (newNode.next == null) {
+            tail = newNode;
+        } else {
+            newNode.next.prev = newNode;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+    }
+
+    private class Node {
+        private final Object[] elements = new Object[nodeCapacity];
+        private int count;
+        private Node prev;
+        private Node next;
+    }
+
+    private class UnrolledLinkedListIterator implements Iterator<T> {
+        private Node node = head;
+        private int offset;
+        private int index;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException("No next value found");
+            }
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            T value = (T) node.elements[offset];
+            offset++;
+            index++;
+            canRemove = true;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException("Value already removed!");
+            }
+            Node next = node.next;
+            offset--;
+            index--;
+            removeAt(node, offset);
+            if (node.count == 0) {
+                node = next;
+                offset = 0;
+            }
+            canRemove = false;
+        }
+    }
+}
@@ -0,0 +1,718 @@
+package com.onoprienko.datastructures.map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    private static final int RESIZE_STAMP_BITS = 16;
+    private static final int RESIZE_STAMP_SHIFT = 32 - RESIZE_STAMP_BITS;
+    private static final int MAX_RESIZERS = (1 << (32 - RESIZE_STAMP_BITS)) - 1;
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+    private static final int HASH_BITS = 0x7fffffff;
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+    private static final Object NULL_KEY = new Object();
+
+    private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle SIZE_CONTROL;
+    private static final VarHandle TRANSFER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIZE_CONTROL = lookup.findVarHandle(ConcurrentHashMap.class, "sizeControl", int.class);
+            TRANSFER_INDEX = lookup.findVarHandle(ConcurrentHashMap.class, "transferIndex", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final LongAdder count = new LongAdder();
+    private volatile Node<K, V>[] table;
+    private volatile Node<K, V>[] nextTable;
+    private volatile int sizeControl;
+    private volatile int transferIndex;
+
+    public ConcurrentHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ConcurrentHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        int tableSize = tableSizeFor(capacity);
+        table = newTable(tableSize);
+        sizeControl = tableSize - (tableSize >>> 2);
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        Object maskedKey = maskNull(key);
+        int hash = spread(maskedKey.hashCode());
+        int binCount = 0;
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = tabAt(tab, index);
+            if (first == null) {
+                if (casTabAt(tab, index, null, new Node<>(hash, maskedKey, value, null))) {
+                    break;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+            } else {
+                Node<K, V> found = null;
+                V oldValue = null;
+                synchronized (first) {
+                    if (tabAt(tab, index) == first) {
+                        checkNotReserved(first);
+                        binCount = 1;
+                        for (Node<K, V> current = first; ; binCount++) {
+                            if (current.matches(hash, maskedKey)) {
+                                found = current;
+                                oldValue = current.value;
+                                current.value = value;
+                                break;
+                            }
+                            if (current.next == null) {
+                                current.next = new Node<>(hash, maskedKey, value, null);
+                                break;
+                            }
+                            current = current.next;
+                        }
+                    }
+                }
+                if (found != null) {
+                    return oldValue;
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            }
+        }
+        addCount(1, binCount);
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Object maskedKey = maskNull(key);
+        int hash = spread(maskedKey.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = tabAt(tab, index);
+            if (first == null) {
+                return null;
+            }
+            if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+                continue;
+            }
+            boolean validated = false;
+            Node<K, V> removed = null;
+            synchronized (first) {
+                if (tabAt(tab, index) == first) {
+                    checkNotReserved(first);
+                    validated = true;
+                    for (Node<K, V> current = first, previous = null; current != null;
+                         previous = current, current = current.next) {
+                        if (current.matches(hash, maskedKey)) {
+                            removed = current;
+                            if (previous == null) {
+                                setTabAt(tab, index, current.next);
+                            } else {
+                                previous.next = current.next;
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (validated) {
+                if (removed == null) {
+                    return null;
+                }
+                count.decrement();
+                return removed.value;
+            }
+        }
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = getNode(key);
+        return node == null ? defaultValue : node.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return compute(key, (k, oldValue) -> oldValue == null ? value : oldValue, true, false);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Node<K, V> node = getNode(key);
+        if (node != null && node.value != null) {
+            return node.value;
+        }
+        return compute(key, (k, oldValue) -> oldValue == null ? mappingFunction.apply(k) : oldValue, false, false);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Node<K, V> node = getNode(key);
+        if (node == null || node.value == null) {
+            return null;
+        }
+        return compute(key, remappingFunction, false, true);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        return compute(key, remappingFunction, false, false);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Objects.requireNonNull(value);
+        return compute(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value),
+                false, false);
+    }
+
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<K, V> entry : this) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Node<K, V>[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            forEachInBin(tab, i, action);
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new ConcurrentHashMapIterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+
+    private V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction,
+                      boolean returnOldValue, boolean onlyIfPresent) {
+        Object maskedKey = maskNull(key);
+        int hash = spread(maskedKey.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = tabAt(tab, index);
+            if (first == null && onlyIfPresent) {
+                return null;
+            }
+            if (first == null) {
+                Node<K, V> reservation = new ReservationNode<>();
+                boolean reserved = false;
+                V newValue = null;
+                synchronized (reservation) {
+                    if (casTabAt(tab, index, null, reservation)) {
+                        reserved = true;
+                        Node<K, V> node = null;
+                        try {
+                            newValue = remappingFunction.apply(key, null);
+                            if (newValue != null) {
+                                node = new Node<>(hash, maskedKey, newValue, null);
+                            }
+                        } finally {
+                            setTabAt(tab, index, node);
+                        }
+                    }
+                }
+                if (reserved) {
+                    if (newValue != null) {
+                        addCount(1, 0);
+                    }
+                    return returnOldValue ? null : newValue;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+            } else {
+                boolean validated = false;
+                int binCount = 0;
+                int delta = 0;
+                V oldValue = null;
+                V newValue = null;
+                synchronized (first) {
+                    if (tabAt(tab, index) == first) {
+                        checkNotReserved(first);
+                        validated = true;
+                        binCount = 1;
+                        for (Node<K, V> current = first, previous = null; ; binCount++) {
+                            if (current.matches(hash, maskedKey)) {
+                                oldValue = current.value;
+                                if (onlyIfPresent && oldValue == null) {
+                                    break;
+                                }
+                                newValue = remappingFunction.apply(key, oldValue);
+                                if (newValue != null) {
+                                    current.value = newValue;
+                                } else {
+                                    delta = -1;
+                                    if (previous == null) {
+                                        setTabAt(tab, index, current.next);
+                                    } else {
+                                        previous.next = current.next;
+                                    }
+                                }
+                                break;
+                            }
+                            if (current.next == null) {
+                                if (onlyIfPresent) {
+                                    break;
+                                }
+                                newValue = remappingFunction.apply(key, null);
+                                if (newValue != null) {
+                                    delta = 1;
+                                    current.next = new Node<>(hash, maskedKey, newValue, null);
+                                }
+                                break;
+                            }
+                            previous = current;
+                            current = current.next;
+                        }
+                    }
+                }
+                if (validated) {
+                    if (delta != 0) {
+                        addCount(delta, delta > 0 ? binCount : -1);
+                    }
+                    return returnOldValue ? oldValue : newValue;
+                }
+            }
+        }
+    }
+
+    private static void checkNotReserved(Node<?, ?> first) {
+        // only the thread computing into the reserved bin can hold its lock here
+        if (first.hash == RESERVED) {
+            throw new IllegalStateException("Recursive update");
+        }
+    }
+
+    private Node<K, V> getNode(K key) {
+        Object maskedKey = maskNull(key);
+        int hash = spread(maskedKey.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            Node<K, V> current = tabAt(tab, (tab.length - 1) & hash);
+            if (current == null) {
+                return null;
+            }
+            if (current.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) current).nextTable;
+                continue;
+            }
+            for (; current != null; current = current.next) {
+                if (current.matches(hash, maskedKey)) {
+                    return current;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void addCount(long delta, int binCount) {
+        count.add(delta);
+        if (binCount < 0) {
+            return;
+        }
+        long size = count.sum();
+        Node<K, V>[] tab;
+        int sc;
+        while (size >= (sc = sizeControl) && (tab = table).length < MAXIMUM_CAPACITY) {
+            int stamp = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+            if (sc < 0) {
+                Node<K, V>[] nextTab = nextTable;
+                if (sc == stamp + MAX_RESIZERS || sc == stamp + 1 || nextTab == null || transferIndex <= 0) {
+                    break;
+                }
+                if (SIZE_CONTROL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nextTab);
+                }
+            } else if (SIZE_CONTROL.compareAndSet(this, sc, stamp + 2)) {
+                transfer(tab, null);
+            }
+            size = count.sum();
+        }
+    }
+
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> first) {
+        Node<K, V>[] nextTab = ((ForwardingNode<K, V>) first).nextTable;
+        int stamp = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+        int sc;
+        while (nextTab == nextTable && table == tab && (sc = sizeControl) < 0) {
+            if (sc == stamp + MAX_RESIZERS || sc == stamp + 1 || transferIndex <= 0) {
+                break;
+            }
+            if (SIZE_CONTROL.compareAndSet(this, sc, sc + 1)) {
+                transfer(tab, nextTab);
+                break;
+            }
+        }
+        return nextTab;
+    }
+
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+        int length = tab.length;
+        int stride = Math.max(NCPU > 1 ? (length >>> 3) / NCPU : length, MIN_TRANSFER_STRIDE);
+        if (nextTab == null) {
+            nextTab = newTable(length << 1);
+            nextTable = nextTab;
+            transferIndex = length;
+        }
+        ForwardingNode<K, V> forwardingNode = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false;
+        int index = 0;
+        int bound = 0;
+        while (true) {
+            while (advance) {
+                int nextIndex;
+                if (--index >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex) <= 0) {
+                    index = -1;
+                    advance = false;
+                } else {
+                    int nextBound = nextIndex > stride ? nextIndex - stride : 0;
+                    if (TRANSFER_INDEX.compareAndSet(this, nextIndex, nextBound)) {
+                        bound = nextBound;
+                        index = nextIndex - 1;
+                        advance = false;
+                    }
+                }
+            }
+            if (index < 0) {
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeControl = (length << 1) - (length >>> 1);
+                    return;
+                }
+                int sc = sizeControl;
+                if (SIZE_CONTROL.compareAndSet(this, sc, sc - 1)) {
+                    if (sc - 2 != resizeStamp(length) << RESIZE_STAMP_SHIFT) {
+                        return;
+                    }
+                    // the last resizer rescans the table before publishing it
+                    finishing = advance = true;
+                    index = length;
+                }
+                continue;
+            }
+            Node<K, V> first = tabAt(tab, index);
+            if (first == null) {
+                advance = casTabAt(tab, index, null, forwardingNode);
+            } else if (first.hash == MOVED) {
+                advance = true;
+            } else {
+                synchronized (first) {
+                    if (tabAt(tab, index) == first) {
+                        Node<K, V> low = null;
+                        Node<K, V> high = null;
+                        for (Node<K, V> current = first; current != null; current = current.next) {
+                            if ((current.hash & length) == 0) {
+                                low = new Node<>(current.hash, current.key, current.value, low);
+                            } else {
+                                high = new Node<>(current.hash, current.key, current.value, high);
+                            }
+                        }
+                        setTabAt(nextTab, index, low);
+                        setTabAt(nextTab, index + length, high);
+                        setTabAt(tab, index, forwardingNode);
+                        advance = true;
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEachInBin(Node<K, V>[] tab, int index, BiConsumer<? super K, ? super V> action) {
+        Node<K, V> first = tabAt(tab, index);
+        if (first instanceof ForwardingNode) {
+            Node<K, V>[] nextTab = ((ForwardingNode<K, V>) first).nextTable;
+            forEachInBin(nextTab, index, action);
+            forEachInBin(nextTab, index + tab.length, action);
+            return;
+        }
+        if (first == null || first.hash == RESERVED) {
+            return;
+        }
+        for (Node<K, V> node = first; node != null; node = node.next) {
+            action.accept(unmaskNull(node.key), node.value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
+    private static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int index) {
+        return (Node<K, V>) BINS.getAcquire(tab, index);
+    }
+
+    private static <K, V> boolean casTabAt(Node<K, V>[] tab, int index, Node<K, V> expected, Node<K, V> node) {
+        return BINS.compareAndSet(tab, index, expected, node);
+    }
+
+    private static <K, V> void setTabAt(Node<K, V>[] tab, int index, Node<K, V> node) {
+        BINS.setRelease(tab, index, node);
+    }
+
+    private static int resizeStamp(int length) {
+        return Integer.numberOfLeadingZeros(length) | (1 << (RESIZE_STAMP_BITS - 1));
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) & HASH_BITS;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        return Math.min(tableSize, MAXIMUM_CAPACITY);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object maskedKey) {
+        return maskedKey == NULL_KEY ? null : (K) maskedKey;
+    }
+
+    private class ConcurrentHashMapIterator implements Iterator<Entry<K, V>> {
+        private final int baseSize;
+        private Node<K, V>[] tab = table;
+        private TableStack<K, V> stack;
+        private TableStack<K, V> spare;
+        private int index;
+        private int baseIndex;
+        private Node<K, V> next;
+        private Node<K, V> lastReturned;
+
+        ConcurrentHashMapIterator() {
+            baseSize = tab.length;
+            advance(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException("No next value found");
+            }
+            lastReturned = next;
+            advance(next.next);
+            return new MapEntry(unmaskNull(lastReturned.key), lastReturned.value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No values to remove");
+            }
+            ConcurrentHashMap.this.remove(ConcurrentHashMap.<K>unmaskNull(lastReturned.key));
+            lastReturned = null;
+        }
+
+        private void advance(Node<K, V> node) {
+            while (node == null) {
+                Node<K, V>[] current = tab;
+                int length = current.length;
+                int i = index;
+                if (baseIndex >= baseSize || i >= length) {
+                    next = null;
+                    return;
+                }
+                node = tabAt(current, i);
+                if (node instanceof ForwardingNode) {
+                    tab = ((ForwardingNode<K, V>) node).nextTable;
+                    node = null;
+                    pushState(current, i, length);
+                    continue;
+                }
+                if (node != null && node.hash == RESERVED) {
+                    node = null;
+                }
+                if (stack != null) {
+                    recoverState(length);
+                } else if ((index = i + baseSize) >= length) {
+                    index = ++baseIndex;
+                }
+            }
+            next = node;
+        }
+
+        // a forwarded bin is split into index and index + length of the next table, the stack
+        // remembers where to continue once both halves are visited
+        private void pushState(Node<K, V>[] current, int i, int length) {
+            TableStack<K, V> state = spare;
+            if (state != null) {
+                spare = state.next;
+            } else {
+                state = new TableStack<>();
+            }
+            state.table = current;
+            state.length = length;
+            state.index = i;
+            state.next = stack;
+            stack = state;
+        }
+
+        private void recoverState(int length) {
+            TableStack<K, V> state;
+            int stateLength;
+            while ((state = stack) != null && (index += (stateLength = state.length)) >= length) {
+                length = stateLength;
+                index = state.index;
+                tab = state.table;
+                state.table = null;
+                stack = state.next;
+                state.next = spare;
+                spare = state;
+            }
+            if (state == null && (index += baseSize) >= length) {
+                index = ++baseIndex;
+            }
+        }
+    }
+
+    private class MapEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            put(key, value);
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+
+    private static class TableStack<K, V> {
+        private Node<K, V>[] table;
+        private int length;
+        private int index;
+        private TableStack<K, V> next;
+    }
+
+    private static class Node<K, V> {
+        private final int hash;
+        private final Object key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        private Node(int hash, Object key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        private boolean matches(int hash, Object maskedKey) {
+            return this.hash == hash && (key == maskedKey || Objects.equals(key, maskedKey));
+        }
+    }
+
+    private static class ReservationNode<K, V> extends Node<K, V> {
+        private ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    private static class ForwardingNode<K, V> extends Node<K, V> {
+        private final Node<K, V>[] nextTable;
+
+        private ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+
+class EntrySetView<K, V> extends AbstractSet<Map.Entry<K, V>> {
+    private final Map<K, V> map;
+
+    EntrySetView(Map<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return map.iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Map.Entry)) {
+            return false;
+        }
+        return containsEntry((Map.Entry<?, ?>) object);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Map.Entry) || !containsEntry((Map.Entry<?, ?>) object)) {
+            return false;
+        }
+        map.remove((K) ((Map.Entry<?, ?>) object).getKey());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean containsEntry(Map.Entry<?, ?> entry) {
+        K key = (K) entry.getKey();
+        V value = map.get(key);
+        return (value != null || map.containsKey(key)) && Objects.equals(value, entry.getValue());
+    }
+}
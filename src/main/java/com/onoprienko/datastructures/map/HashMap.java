@@ -1,52 +1,127 @@
 package com.onoprienko.datastructures.map;
 
+import com.onoprienko.datastructures.codec.Codec;
+import com.onoprienko.datastructures.codec.SnapshotReader;
+import com.onoprienko.datastructures.codec.SnapshotWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class HashMap<K, V> implements Map<K, V> {
-    private static final double LOAD_FACTOR = 0.5;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
     private static final int GROW_FACTOR = 2;
     private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MIGRATION_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
 
+    private final double loadFactor;
+    private final boolean incrementalResize;
     private HashMapEntry<K, V>[] buckets;
+    private HashMapEntry<K, V>[] oldBuckets;
+    private int migrationIndex;
+    private int threshold;
     private int size;
+    private Set<K> keySet;
+    private Collection<V> values;
+    private Set<Entry<K, V>> entrySet;
 
-    @SuppressWarnings("unchecked")
     public HashMap() {
-        buckets = new HashMapEntry[INITIAL_CAPACITY];
+        this(INITIAL_CAPACITY);
     }
 
-    @SuppressWarnings("unchecked")
     public HashMap(int capacity) {
-        buckets = new HashMapEntry[capacity];
+        this(capacity, false);
+    }
+
+    public HashMap(int capacity, boolean incrementalResize) {
+        this(capacity, DEFAULT_LOAD_FACTOR, incrementalResize, false);
+    }
+
+    public HashMap(int expectedSize, double loadFactor) {
+        this(expectedSize, loadFactor, false);
+    }
+
+    public HashMap(int expectedSize, double loadFactor, boolean incrementalResize) {
+        this(expectedSize, loadFactor, incrementalResize, true);
+    }
+
+    private HashMap(int size, double loadFactor, boolean incrementalResize, boolean isExpectedSize) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("Load factor must be positive: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.incrementalResize = incrementalResize;
+        allocateBuckets(isExpectedSize ? capacityFor(size) : tableSizeFor(size));
     }
 
 
     @Override
     public V put(K key, V value) {
+        migrateBuckets();
         ensureCapacity();
-        int bucketIndex = getIndex(key);
+        int hash = getHash(key);
+        if (oldBuckets != null) {
+            HashMapEntry<K, V> oldEntry = findEntry(oldBuckets, key, hash);
+            if (oldEntry != null) {
+                return oldEntry.setValue(value);
+            }
+        }
+        int bucketIndex = indexFor(hash, buckets.length);
         HashMapEntry<K, V> currentBucket = buckets[bucketIndex];
 
         if (currentBucket == null) {
-            buckets[bucketIndex] = new HashMapEntry<>(key, value, getHash(key));
+            buckets[bucketIndex] = new HashMapEntry<>(key, value, hash);
             size++;
             return null;
         }
 
+        if (currentBucket instanceof TreeNode) {
+            TreeNode<K, V> existing = TreeNode.putTreeValue(buckets, bucketIndex, hash, key, value);
+            if (existing != null) {
+                return existing.setValue(value);
+            }
+            size++;
+            return null;
+        }
+
+        int binCount = 1;
         while (true) {
-            if (currentBucket.getHash() == getHash(key)) {
+            if (currentBucket.getHash() == hash) {
                 if (Objects.equals(currentBucket.getKey(), key)) {
                     return currentBucket.setValue(value);
                 }
             }
             if (currentBucket.getNext() == null) {
-                currentBucket.setNext(new HashMapEntry<>(key, value, getHash(key)));
+                currentBucket.setNext(new HashMapEntry<>(key, value, hash));
+                if (binCount >= TREEIFY_THRESHOLD) {
+                    treeifyBucket(buckets, bucketIndex);
+                }
                 break;
             }
             currentBucket = currentBucket.getNext();
+            binCount++;
         }
 
         size++;
@@ -66,42 +141,143 @@ public class HashMap<K, V> implements Map<K, V> {
 
     @Override
     public V remove(K key) {
-        int bucketIndex = getIndex(key);
-        HashMapEntry<K, V> current = buckets[bucketIndex];
+        HashMapEntry<K, V> removed = removeNode(key);
+        return removed == null ? null : removed.getValue();
+    }
 
-        if (current == null) {
+    @Override
+    public boolean containsKey(K key) {
+        Entry<K, V> entry = getEntry(key);
+        return entry != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return oldBuckets != null && containsValue(oldBuckets, value) || containsValue(buckets, value);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        HashMapEntry<K, V> entry = getEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int hash = getHash(key);
+        HashMapEntry<K, V> entry = getEntry(key, hash);
+        if (entry == null) {
+            addEntry(key, value, hash);
             return null;
         }
+        V oldValue = entry.getValue();
+        if (oldValue == null) {
+            entry.setValue(value);
+        }
+        return oldValue;
+    }
 
-        if (current.getHash() == (getHash(key))) {
-            if (Objects.equals(current.getKey(), key)) {
-                V oldValue = current.getValue();
-                buckets[bucketIndex] = current.getNext();
-                size--;
-                return oldValue;
-            }
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        int hash = getHash(key);
+        HashMapEntry<K, V> entry = getEntry(key, hash);
+        if (entry != null && entry.getValue() != null) {
+            return entry.getValue();
         }
+        V newValue = mappingFunction.apply(key);
+        if (newValue != null) {
+            updateEntry(entry, key, newValue, hash);
+        }
+        return newValue;
+    }
 
-        while (current != null) {
-            HashMapEntry<K, V> next = current.getNext();
-            if (next.getHash() == (getHash(key))) {
-                if (Objects.equals(next.getKey(), key)) {
-                    V oldValue = next.getValue();
-                    current.setNext(next.getNext());
-                    size--;
-                    return oldValue;
-                }
-            }
-            current = current.getNext();
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        HashMapEntry<K, V> entry = getEntry(key);
+        if (entry == null || entry.getValue() == null) {
+            return null;
+        }
+        V newValue = remappingFunction.apply(key, entry.getValue());
+        if (newValue == null) {
+            unlinkEntry(entry);
+        } else {
+            entry.setValue(newValue);
         }
+        return newValue;
+    }
 
-        return null;
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        int hash = getHash(key);
+        HashMapEntry<K, V> entry = getEntry(key, hash);
+        V newValue = remappingFunction.apply(key, entry == null ? null : entry.getValue());
+        if (newValue != null) {
+            updateEntry(entry, key, newValue, hash);
+        } else if (entry != null) {
+            unlinkEntry(entry);
+        }
+        return newValue;
     }
 
     @Override
-    public boolean containsKey(K key) {
-        Entry<K, V> entry = getEntry(key);
-        return entry != null;
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Objects.requireNonNull(value);
+        int hash = getHash(key);
+        HashMapEntry<K, V> entry = getEntry(key, hash);
+        V oldValue = entry == null ? null : entry.getValue();
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (newValue != null) {
+            updateEntry(entry, key, newValue, hash);
+        } else {
+            unlinkEntry(entry);
+        }
+        return newValue;
+    }
+
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        int capacity = capacityFor(expectedSize);
+        if (capacity > buckets.length) {
+            resize(capacity, incrementalResize);
+        }
+    }
+
+    public void trimToSize() {
+        int capacity = capacityFor(size);
+        if (capacity < buckets.length) {
+            resize(capacity, false);
+        }
+    }
+
+    public ImmutableMap<K, V> freeze() {
+        return ImmutableMap.copyOf(this);
+    }
+
+    public void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(channel);
+        writer.writeHeader(size);
+        if (oldBuckets != null) {
+            writeBuckets(oldBuckets, writer, keyCodec, valueCodec);
+        }
+        writeBuckets(buckets, writer, keyCodec, valueCodec);
+        writer.flush();
+    }
+
+    public static <K, V> HashMap<K, V> readSnapshot(ReadableByteChannel channel, Codec<K> keyCodec,
+                                                    Codec<V> valueCodec) throws IOException {
+        SnapshotReader reader = new SnapshotReader(channel);
+        int count = reader.readHeader();
+        HashMap<K, V> map = new HashMap<>(SnapshotReader.initialCapacity(count), DEFAULT_LOAD_FACTOR);
+        for (int i = 0; i < count; i++) {
+            map.put(reader.read(keyCodec), reader.read(valueCodec));
+        }
+        return map;
     }
 
     @Override
@@ -119,14 +295,80 @@ public class HashMap<K, V> implements Map<K, V> {
         return new HashMapIterator();
     }
 
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (values == null) {
+            values = new Values();
+        }
+        return values;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (oldBuckets != null) {
+            forEachEntry(oldBuckets, action);
+        }
+        forEachEntry(buckets, action);
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        finishMigration();
+        return new HashMapSpliterator<>(buckets, 0, buckets.length, size, true);
+    }
+
+
+    private static <K, V> void forEachEntry(HashMapEntry<K, V>[] table, BiConsumer<? super K, ? super V> action) {
+        for (HashMapEntry<K, V> first : table) {
+            for (HashMapEntry<K, V> entry = first; entry != null; entry = entry.getNext()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static <K, V> void writeBuckets(HashMapEntry<K, V>[] table, SnapshotWriter writer,
+                                            Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        for (HashMapEntry<K, V> first : table) {
+            for (HashMapEntry<K, V> entry = first; entry != null; entry = entry.getNext()) {
+                writer.write(entry.getKey(), keyCodec);
+                writer.write(entry.getValue(), valueCodec);
+            }
+        }
+    }
 
-    private int getIndex(K key) {
-        return getIndex(key, buckets.length);
+    private static <K, V> boolean containsValue(HashMapEntry<K, V>[] table, V value) {
+        for (HashMapEntry<K, V> first : table) {
+            for (HashMapEntry<K, V> entry = first; entry != null; entry = entry.getNext()) {
+                if (Objects.equals(entry.getValue(), value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private int getIndex(K key, int bucketsCount) {
-        int hash = getHash(key);
-        return hash % bucketsCount;
+        return indexFor(getHash(key), bucketsCount);
+    }
+
+    private static int indexFor(int hash, int bucketsCount) {
+        return hash & (bucketsCount - 1);
     }
 
     private int getHash(K key) {
@@ -134,46 +376,235 @@ public class HashMap<K, V> implements Map<K, V> {
             return 0;
         }
         int hash = key.hashCode();
-        if (Objects.equals(hash, Integer.MIN_VALUE)) {
-            return 0;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void ensureCapacity() {
+        if (size > threshold && buckets.length < MAXIMUM_CAPACITY) {
+            resize(buckets.length * GROW_FACTOR, incrementalResize);
+        }
+    }
+
+    private void resize(int capacity, boolean incremental) {
+        finishMigration();
+        oldBuckets = buckets;
+        migrationIndex = 0;
+        allocateBuckets(capacity);
+        if (!incremental) {
+            finishMigration();
         }
-        return hash;
     }
 
     @SuppressWarnings("unchecked")
-    private void ensureCapacity() {
-        int capacity = buckets.length;
-        if (size > (capacity * LOAD_FACTOR)) {
-            HashMapEntry<K, V>[] newBuckets = new HashMapEntry[capacity * GROW_FACTOR];
-            for (Entry<K, V> entry : this) {
-                int bucketIndex = getIndex(entry.getKey(), newBuckets.length);
-                HashMapEntry<K, V> currentEntry = newBuckets[bucketIndex];
-                HashMapEntry<K, V> entryToMove = new HashMapEntry<>(entry.getKey(), entry.getValue(), getHash(entry.getKey()));
-
-                if (currentEntry == null) {
-                    newBuckets[bucketIndex] = entryToMove;
-                    newBuckets[bucketIndex].setNext(null);
+    private void allocateBuckets(int capacity) {
+        buckets = new HashMapEntry[capacity];
+        threshold = capacity == MAXIMUM_CAPACITY ? Integer.MAX_VALUE : (int) (capacity * loadFactor);
+    }
+
+    private int capacityFor(int expectedSize) {
+        return tableSizeFor((int) Math.min(Math.ceil(expectedSize / loadFactor), MAXIMUM_CAPACITY));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        return Math.min(Integer.highestOneBit(capacity - 1) << 1, MAXIMUM_CAPACITY);
+    }
+
+    private void migrateBuckets() {
+        if (oldBuckets == null) {
+            return;
+        }
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldBuckets.length);
+        while (migrationIndex < end) {
+            transferBucket(migrationIndex++);
+        }
+        if (migrationIndex == oldBuckets.length) {
+            oldBuckets = null;
+        }
+    }
+
+    private void finishMigration() {
+        if (oldBuckets == null) {
+            return;
+        }
+        while (migrationIndex < oldBuckets.length) {
+            transferBucket(migrationIndex++);
+        }
+        oldBuckets = null;
+    }
+
+    private void transferBucket(int oldBucketIndex) {
+        HashMapEntry<K, V> current = oldBuckets[oldBucketIndex];
+        oldBuckets[oldBucketIndex] = null;
+        while (current != null) {
+            HashMapEntry<K, V> next = current.getNext();
+            HashMapEntry<K, V> entry = current instanceof TreeNode
+                    ? new HashMapEntry<>(current.getKey(), current.getValue(), current.getHash())
+                    : current;
+            entry.setNext(null);
+            linkEntry(buckets, entry);
+            current = next;
+        }
+    }
+
+    private void linkEntry(HashMapEntry<K, V>[] table, HashMapEntry<K, V> entry) {
+        int bucketIndex = indexFor(entry.getHash(), table.length);
+        HashMapEntry<K, V> last = table[bucketIndex];
+        if (last == null) {
+            table[bucketIndex] = entry;
+        } else if (last instanceof TreeNode) {
+            TreeNode.putTreeValue(table, bucketIndex, entry.getHash(), entry.getKey(), entry.getValue());
+        } else {
+            int binCount = 1;
+            while (last.getNext() != null) {
+                last = last.getNext();
+                binCount++;
+            }
+            last.setNext(entry);
+            if (binCount >= TREEIFY_THRESHOLD) {
+                treeifyBucket(table, bucketIndex);
+            }
+        }
+    }
+
+    private void updateEntry(HashMapEntry<K, V> entry, K key, V value, int hash) {
+        if (entry == null) {
+            addEntry(key, value, hash);
+        } else {
+            entry.setValue(value);
+        }
+    }
+
+    private void addEntry(K key, V value, int hash) {
+        ensureCapacity();
+        linkEntry(buckets, new HashMapEntry<>(key, value, hash));
+        size++;
+    }
+
+    private void treeifyBucket(HashMapEntry<K, V>[] table, int bucketIndex) {
+        if (table.length < MIN_TREEIFY_CAPACITY) {
+            return;
+        }
+        TreeNode<K, V> head = null;
+        TreeNode<K, V> tail = null;
+        for (HashMapEntry<K, V> current = table[bucketIndex]; current != null; current = current.getNext()) {
+            TreeNode<K, V> node = new TreeNode<>(current.getKey(), current.getValue(), current.getHash());
+            if (tail == null) {
+                head = node;
+            } else {
+                node.prev = tail;
+                tail.setNext(node);
+            }
+            tail = node;
+        }
+        table[bucketIndex] = head;
+        TreeNode.treeify(table, bucketIndex);
+    }
+
+    private HashMapEntry<K, V> removeNode(K key) {
+        migrateBuckets();
+        HashMapEntry<K, V> removed = null;
+        if (oldBuckets != null) {
+            removed = removeEntry(oldBuckets, key);
+        }
+        if (removed == null) {
+            removed = removeEntry(buckets, key);
+        }
+        if (removed != null) {
+            size--;
+        }
+        return removed;
+    }
+
+    private void unlinkEntry(HashMapEntry<K, V> entry) {
+        if (oldBuckets == null || !removeNode(oldBuckets, entry, true)) {
+            removeNode(buckets, entry, true);
+        }
+        size--;
+    }
+
+    private boolean removeNode(HashMapEntry<K, V>[] table, HashMapEntry<K, V> entry, boolean movable) {
+        int bucketIndex = indexFor(entry.getHash(), table.length);
+        HashMapEntry<K, V> current = table[bucketIndex];
+        if (current == null) {
+            return false;
+        }
+        if (current instanceof TreeNode) {
+            if (!(entry instanceof TreeNode)) {
+                return false;
+            }
+            TreeNode<K, V> node = (TreeNode<K, V>) entry;
+            if (TreeNode.root((TreeNode<K, V>) current) != TreeNode.root(node)) {
+                return false;
+            }
+            TreeNode.removeTreeNode(table, bucketIndex, node, movable);
+            return true;
+        }
+        if (current == entry) {
+            table[bucketIndex] = entry.getNext();
+            return true;
+        }
+        while (current.getNext() != null && current.getNext() != entry) {
+            current = current.getNext();
+        }
+        if (current.getNext() == null) {
+            return false;
+        }
+        current.setNext(entry.getNext());
+        return true;
+    }
+
+    private HashMapEntry<K, V> removeEntry(HashMapEntry<K, V>[] table, K key) {
+        int bucketIndex = getIndex(key, table.length);
+        HashMapEntry<K, V> current = table[bucketIndex];
+        if (current instanceof TreeNode) {
+            TreeNode<K, V> node = TreeNode.find(TreeNode.root((TreeNode<K, V>) current), getHash(key), key, null);
+            if (node != null) {
+                TreeNode.removeTreeNode(table, bucketIndex, node, true);
+            }
+            return node;
+        }
+        HashMapEntry<K, V> previous = null;
+        while (current != null) {
+            if (current.getHash() == getHash(key) && Objects.equals(current.getKey(), key)) {
+                if (previous == null) {
+                    table[bucketIndex] = current.getNext();
                 } else {
-                    while (true) {
-                        if (currentEntry.next == null) {
-                            currentEntry.setNext(entryToMove);
-                            break;
-                        } else {
-                            currentEntry = currentEntry.getNext();
-                        }
-                    }
+                    previous.setNext(current.getNext());
                 }
+                return current;
             }
-            buckets = newBuckets;
+            previous = current;
+            current = current.getNext();
         }
+        return null;
     }
 
 
     private HashMapEntry<K, V> getEntry(K key) {
-        int bucketIndex = getIndex(key);
-        HashMapEntry<K, V> current = buckets[bucketIndex];
+        return getEntry(key, getHash(key));
+    }
+
+    private HashMapEntry<K, V> getEntry(K key, int hash) {
+        migrateBuckets();
+        if (oldBuckets != null) {
+            HashMapEntry<K, V> oldEntry = findEntry(oldBuckets, key, hash);
+            if (oldEntry != null) {
+                return oldEntry;
+            }
+        }
+        return findEntry(buckets, key, hash);
+    }
+
+    private HashMapEntry<K, V> findEntry(HashMapEntry<K, V>[] table, K key, int hash) {
+        HashMapEntry<K, V> current = table[indexFor(hash, table.length)];
+        if (current instanceof TreeNode) {
+            return TreeNode.find(TreeNode.root((TreeNode<K, V>) current), hash, key, null);
+        }
         while (current != null) {
-            if (current.getHash() == getHash(key)) {
+            if (current.getHash() == hash) {
                 if (Objects.equals(current.getKey(), key)) {
                     return current;
                 }
@@ -183,73 +614,229 @@ public class HashMap<K, V> implements Map<K, V> {
         return null;
     }
 
-    public class HashMapIterator implements Iterator<Entry<K, V>> {
+    private abstract class BucketIterator {
         private int currentBucketIndex;
-        private HashMapEntry<K, V> currentEntry;
-        private HashMapEntry<K, V> oldEntry;
         private HashMapEntry<K, V> nextEntry;
-        private boolean canRemove;
+        private HashMapEntry<K, V> lastReturned;
 
-        HashMapIterator() {
-            currentBucketIndex = 0;
-            currentEntry = buckets[currentBucketIndex];
+        BucketIterator() {
+            finishMigration();
+            currentBucketIndex = -1;
+            moveToNextBucket();
         }
 
-        @Override
         public boolean hasNext() {
-            int length = buckets.length - 1;
-            if (currentBucketIndex > length) {
-                return false;
-            }
-            if (nextEntry != null) {
-                oldEntry = currentEntry;
-                currentEntry = nextEntry;
-                return true;
-            }
+            return nextEntry != null;
+        }
 
-            currentEntry = buckets[currentBucketIndex];
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No values to remove");
+            }
+            removeNode(buckets, lastReturned, false);
+            lastReturned = null;
+            size--;
+        }
 
-            if (currentEntry == null) {
-                while (currentBucketIndex <= length - 1) {
-                    currentBucketIndex++;
-                    currentEntry = buckets[currentBucketIndex];
-                    if (currentEntry != null) {
-                        break;
-                    }
-                }
+        HashMapEntry<K, V> nextEntry() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("No next value found");
+            }
+            lastReturned = nextEntry;
+            nextEntry = nextEntry.getNext();
+            if (nextEntry == null) {
+                moveToNextBucket();
             }
+            return lastReturned;
+        }
 
-            return currentEntry != null;
+        private void moveToNextBucket() {
+            while (nextEntry == null && ++currentBucketIndex < buckets.length) {
+                nextEntry = buckets[currentBucketIndex];
+            }
         }
+    }
 
+    public class HashMapIterator extends BucketIterator implements Iterator<Entry<K, V>> {
         @Override
         public HashMapEntry<K, V> next() {
-            if (currentEntry == null) {
-                throw new NoSuchElementException("No next value found");
+            return nextEntry();
+        }
+    }
+
+    private class KeyIterator extends BucketIterator implements Iterator<K> {
+        @Override
+        public K next() {
+            return nextEntry().getKey();
+        }
+    }
+
+    private class ValueIterator extends BucketIterator implements Iterator<V> {
+        @Override
+        public V next() {
+            return nextEntry().getValue();
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object key) {
+            return containsKey((K) key);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean remove(Object key) {
+            return removeNode((K) key) != null;
+        }
+
+        @Override
+        public void forEach(Consumer<? super K> action) {
+            forEachKey(action);
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object value) {
+            return containsValue((V) value);
+        }
+
+        @Override
+        public void forEach(Consumer<? super V> action) {
+            forEachValue(action);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new HashMapIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Entry)) {
+                return false;
             }
-            if (currentEntry.getNext() != null) {
-                nextEntry = currentEntry.getNext();
-            } else {
-                nextEntry = null;
-                currentBucketIndex++;
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            HashMapEntry<K, V> current = getEntry((K) entry.getKey());
+            return current != null && Objects.equals(current.getValue(), entry.getValue());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean remove(Object object) {
+            if (!(object instanceof Entry)) {
+                return false;
             }
-            canRemove = true;
-            return currentEntry;
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            HashMapEntry<K, V> current = getEntry((K) entry.getKey());
+            if (current == null || !Objects.equals(current.getValue(), entry.getValue())) {
+                return false;
+            }
+            unlinkEntry(current);
+            return true;
+        }
+    }
+
+    private static class HashMapSpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        private final HashMapEntry<K, V>[] table;
+        private final int fence;
+        private boolean exactSize;
+        private int bucketIndex;
+        private int estimatedSize;
+        private HashMapEntry<K, V> current;
+
+        private HashMapSpliterator(HashMapEntry<K, V>[] table, int origin, int fence, int estimatedSize,
+                                   boolean exactSize) {
+            this.table = table;
+            this.bucketIndex = origin;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
         }
 
         @Override
-        public void remove() {
-            if (currentEntry == null || !canRemove) {
-                throw new IllegalStateException("No values to remove");
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            while (current != null || bucketIndex < fence) {
+                if (current == null) {
+                    current = table[bucketIndex++];
+                } else {
+                    HashMapEntry<K, V> entry = current;
+                    current = entry.getNext();
+                    action.accept(entry);
+                    return true;
+                }
             }
-            if (oldEntry == null) {
-                int index = currentBucketIndex == 0 ? 0 : currentBucketIndex - 1;
-                buckets[index] = currentEntry.getNext();
-            } else {
-                oldEntry.setNext(currentEntry.getNext());
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            HashMapEntry<K, V> entry = current;
+            current = null;
+            for (int i = bucketIndex; ; i++) {
+                for (; entry != null; entry = entry.getNext()) {
+                    action.accept(entry);
+                }
+                if (i >= fence) {
+                    break;
+                }
+                entry = table[i];
             }
-            canRemove = false;
-            size--;
+            bucketIndex = fence;
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int origin = bucketIndex;
+            int middle = (origin + fence) >>> 1;
+            if (origin >= middle || current != null) {
+                return null;
+            }
+            bucketIndex = middle;
+            estimatedSize >>>= 1;
+            exactSize = false;
+            return new HashMapSpliterator<>(table, origin, middle, estimatedSize, false);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exactSize ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
         }
     }
 
@@ -307,5 +894,536 @@ public class HashMap<K, V> implements Map<K, V> {
         }
     }
 
+    private static class TreeNode<K, V> extends HashMapEntry<K, V> {
+        private TreeNode<K, V> parent;
+        private TreeNode<K, V> left;
+        private TreeNode<K, V> right;
+        private TreeNode<K, V> prev;
+        private boolean red;
+
+        private TreeNode(K key, V value, int hash) {
+            super(key, value, hash);
+        }
+
+        private TreeNode<K, V> nextNode() {
+            return (TreeNode<K, V>) getNext();
+        }
+
+        private static <K, V> TreeNode<K, V> root(TreeNode<K, V> node) {
+            while (node.parent != null) {
+                node = node.parent;
+            }
+            return node;
+        }
+
+        private static <K, V> TreeNode<K, V> find(TreeNode<K, V> node, int hash, Object key, Class<?> keyClass) {
+            TreeNode<K, V> current = node;
+            while (current != null) {
+                TreeNode<K, V> left = current.left;
+                TreeNode<K, V> right = current.right;
+                int direction;
+                if (current.getHash() > hash) {
+                    current = left;
+                } else if (current.getHash() < hash) {
+                    current = right;
+                } else if (Objects.equals(current.getKey(), key)) {
+                    return current;
+                } else if (left == null) {
+                    current = right;
+                } else if (right == null) {
+                    current = left;
+                } else if ((keyClass != null || (keyClass = comparableClassFor(key)) != null)
+                        && (direction = compareComparables(keyClass, key, current.getKey())) != 0) {
+                    current = direction < 0 ? left : right;
+                } else {
+                    TreeNode<K, V> found = find(right, hash, key, keyClass);
+                    if (found != null) {
+                        return found;
+                    }
+                    current = left;
+                }
+            }
+            return null;
+        }
+
+        private static <K, V> TreeNode<K, V> putTreeValue(HashMapEntry<K, V>[] table, int bucketIndex,
+                                                          int hash, K key, V value) {
+            TreeNode<K, V> root = root((TreeNode<K, V>) table[bucketIndex]);
+            Class<?> keyClass = null;
+            boolean searched = false;
+            TreeNode<K, V> current = root;
+            while (true) {
+                int direction;
+                if (current.getHash() > hash) {
+                    direction = -1;
+                } else if (current.getHash() < hash) {
+                    direction = 1;
+                } else if (Objects.equals(current.getKey(), key)) {
+                    return current;
+                } else if ((keyClass == null && (keyClass = comparableClassFor(key)) == null)
+                        || (direction = compareComparables(keyClass, key, current.getKey())) == 0) {
+                    if (!searched) {
+                        searched = true;
+                        TreeNode<K, V> found = find(current.left, hash, key, keyClass);
+                        if (found == null) {
+                            found = find(current.right, hash, key, keyClass);
+                        }
+                        if (found != null) {
+                            return found;
+                        }
+                    }
+                    direction = tieBreakOrder(key, current.getKey());
+                }
+
+                TreeNode<K, V> parent = current;
+                current = direction <= 0 ? current.left : current.right;
+                if (current == null) {
+                    TreeNode<K, V> node = new TreeNode<>(key, value, hash);
+                    TreeNode<K, V> parentNext = parent.nextNode();
+                    node.setNext(parentNext);
+                    parent.setNext(node);
+                    node.parent = parent;
+                    node.prev = parent;
+                    if (direction <= 0) {
+                        parent.left = node;
+                    } else {
+                        parent.right = node;
+                    }
+                    if (parentNext != null) {
+                        parentNext.prev = node;
+                    }
+                    moveRootToFront(table, bucketIndex, balanceInsertion(root, node));
+                    return null;
+                }
+            }
+        }
+
+        private static <K, V> void treeify(HashMapEntry<K, V>[] table, int bucketIndex) {
+            TreeNode<K, V> root = null;
+            TreeNode<K, V> next;
+            for (TreeNode<K, V> node = (TreeNode<K, V>) table[bucketIndex]; node != null; node = next) {
+                next = node.nextNode();
+                node.left = node.right = null;
+                if (root == null) {
+                    node.parent = null;
+                    node.red = false;
+                    root = node;
+                    continue;
+                }
+                K key = node.getKey();
+                int hash = node.getHash();
+                Class<?> keyClass = null;
+                TreeNode<K, V> current = root;
+                while (true) {
+                    int direction;
+                    if (current.getHash() > hash) {
+                        direction = -1;
+                    } else if (current.getHash() < hash) {
+                        direction = 1;
+                    } else if ((keyClass == null && (keyClass = comparableClassFor(key)) == null)
+                            || (direction = compareComparables(keyClass, key, current.getKey())) == 0) {
+                        direction = tieBreakOrder(key, current.getKey());
+                    }
+                    TreeNode<K, V> parent = current;
+                    current = direction <= 0 ? current.left : current.right;
+                    if (current == null) {
+                        node.parent = parent;
+                        if (direction <= 0) {
+                            parent.left = node;
+                        } else {
+                            parent.right = node;
+                        }
+                        root = balanceInsertion(root, node);
+                        break;
+                    }
+                }
+            }
+            moveRootToFront(table, bucketIndex, root);
+        }
+
+        private static <K, V> HashMapEntry<K, V> untreeify(TreeNode<K, V> first) {
+            HashMapEntry<K, V> head = null;
+            HashMapEntry<K, V> tail = null;
+            for (TreeNode<K, V> node = first; node != null; node = node.nextNode()) {
+                HashMapEntry<K, V> entry = new HashMapEntry<>(node.getKey(), node.getValue(), node.getHash());
+                if (tail == null) {
+                    head = entry;
+                } else {
+                    tail.setNext(entry);
+                }
+                tail = entry;
+            }
+            return head;
+        }
+
+        private static <K, V> void removeTreeNode(HashMapEntry<K, V>[] table, int bucketIndex,
+                                                  TreeNode<K, V> node, boolean movable) {
+            TreeNode<K, V> first = (TreeNode<K, V>) table[bucketIndex];
+            TreeNode<K, V> successor = node.nextNode();
+            TreeNode<K, V> predecessor = node.prev;
+            if (predecessor == null) {
+                table[bucketIndex] = first = successor;
+            } else {
+                predecessor.setNext(successor);
+            }
+            if (successor != null) {
+                successor.prev = predecessor;
+            }
+            if (first == null) {
+                return;
+            }
+            if (movable && hasAtMost(first, UNTREEIFY_THRESHOLD)) {
+                table[bucketIndex] = untreeify(first);
+                return;
+            }
+            TreeNode<K, V> root = root(first);
+
+            TreeNode<K, V> left = node.left;
+            TreeNode<K, V> right = node.right;
+            TreeNode<K, V> replacement;
+            if (left != null && right != null) {
+                TreeNode<K, V> successorInTree = right;
+                while (successorInTree.left != null) {
+                    successorInTree = successorInTree.left;
+                }
+                boolean color = successorInTree.red;
+                successorInTree.red = node.red;
+                node.red = color;
+                TreeNode<K, V> successorRight = successorInTree.right;
+                TreeNode<K, V> nodeParent = node.parent;
+                if (successorInTree == right) {
+                    node.parent = successorInTree;
+                    successorInTree.right = node;
+                } else {
+                    TreeNode<K, V> successorParent = successorInTree.parent;
+                    node.parent = successorParent;
+                    if (successorInTree == successorParent.left) {
+                        successorParent.left = node;
+                    } else {
+                        successorParent.right = node;
+                    }
+                    successorInTree.right = right;
+                    right.parent = successorInTree;
+                }
+                node.left = null;
+                node.right = successorRight;
+                if (successorRight != null) {
+                    successorRight.parent = node;
+                }
+                successorInTree.left = left;
+                left.parent = successorInTree;
+                successorInTree.parent = nodeParent;
+                if (nodeParent == null) {
+                    root = successorInTree;
+                } else if (node == nodeParent.left) {
+                    nodeParent.left = successorInTree;
+                } else {
+                    nodeParent.right = successorInTree;
+                }
+                replacement = successorRight != null ? successorRight : node;
+            } else if (left != null) {
+                replacement = left;
+            } else if (right != null) {
+                replacement = right;
+            } else {
+                replacement = node;
+            }
+
+            if (replacement != node) {
+                TreeNode<K, V> nodeParent = node.parent;
+                replacement.parent = nodeParent;
+                if (nodeParent == null) {
+                    root = replacement;
+                    replacement.red = false;
+                } else if (node == nodeParent.left) {
+                    nodeParent.left = replacement;
+                } else {
+                    nodeParent.right = replacement;
+                }
+                node.left = node.right = node.parent = null;
+            }
+
+            TreeNode<K, V> newRoot = node.red ? root : balanceDeletion(root, replacement);
 
+            if (replacement == node) {
+                TreeNode<K, V> nodeParent = node.parent;
+                node.parent = null;
+                if (nodeParent != null) {
+                    if (node == nodeParent.left) {
+                        nodeParent.left = null;
+                    } else if (node == nodeParent.right) {
+                        nodeParent.right = null;
+                    }
+                }
+            }
+            if (movable) {
+                moveRootToFront(table, bucketIndex, newRoot);
+            }
+        }
+
+        private static <K, V> boolean hasAtMost(TreeNode<K, V> first, int count) {
+            TreeNode<K, V> node = first;
+            for (int i = 0; i < count && node != null; i++) {
+                node = node.nextNode();
+            }
+            return node == null;
+        }
+
+        private static <K, V> void moveRootToFront(HashMapEntry<K, V>[] table, int bucketIndex, TreeNode<K, V> root) {
+            TreeNode<K, V> first = (TreeNode<K, V>) table[bucketIndex];
+            if (root == first) {
+                return;
+            }
+            table[bucketIndex] = root;
+            TreeNode<K, V> rootPrev = root.prev;
+            TreeNode<K, V> rootNext = root.nextNode();
+            if (rootNext != null) {
+                rootNext.prev = rootPrev;
+            }
+            if (rootPrev != null) {
+                rootPrev.setNext(rootNext);
+            }
+            if (first != null) {
+                first.prev = root;
+            }
+            root.setNext(first);
+            root.prev = null;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> root, TreeNode<K, V> node) {
+            TreeNode<K, V> right;
+            if (node != null && (right = node.right) != null) {
+                TreeNode<K, V> rightLeft = node.right = right.left;
+                if (rightLeft != null) {
+                    rightLeft.parent = node;
+                }
+                TreeNode<K, V> parent = right.parent = node.parent;
+                if (parent == null) {
+                    root = right;
+                    root.red = false;
+                } else if (parent.left == node) {
+                    parent.left = right;
+                } else {
+                    parent.right = right;
+                }
+                right.left = node;
+                node.parent = right;
+            }
+            return root;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> root, TreeNode<K, V> node) {
+            TreeNode<K, V> left;
+            if (node != null && (left = node.left) != null) {
+                TreeNode<K, V> leftRight = node.left = left.right;
+                if (leftRight != null) {
+                    leftRight.parent = node;
+                }
+                TreeNode<K, V> parent = left.parent = node.parent;
+                if (parent == null) {
+                    root = left;
+                    root.red = false;
+                } else if (parent.right == node) {
+                    parent.right = left;
+                } else {
+                    parent.left = left;
+                }
+                left.right = node;
+                node.parent = left;
+            }
+            return root;
+        }
+
+        private static <K, V> TreeNode<K, V> balanceInsertion(TreeNode<K, V> root, TreeNode<K, V> node) {
+            node.red = true;
+            while (true) {
+                TreeNode<K, V> parent = node.parent;
+                TreeNode<K, V> grandParent;
+                if (parent == null) {
+                    node.red = false;
+                    return node;
+                }
+                if (!parent.red || (grandParent = parent.parent) == null) {
+                    return root;
+                }
+                TreeNode<K, V> grandParentLeft = grandParent.left;
+                if (parent == grandParentLeft) {
+                    TreeNode<K, V> uncle = grandParent.right;
+                    if (uncle != null && uncle.red) {
+                        uncle.red = false;
+                        parent.red = false;
+                        grandParent.red = true;
+                        node = grandParent;
+                    } else {
+                        if (node == parent.right) {
+                            node = parent;
+                            root = rotateLeft(root, node);
+                            parent = node.parent;
+                            grandParent = parent == null ? null : parent.parent;
+                        }
+                        if (parent != null) {
+                            parent.red = false;
+                            if (grandParent != null) {
+                                grandParent.red = true;
+                                root = rotateRight(root, grandParent);
+                            }
+                        }
+                    }
+                } else {
+                    if (grandParentLeft != null && grandParentLeft.red) {
+                        grandParentLeft.red = false;
+                        parent.red = false;
+                        grandParent.red = true;
+                        node = grandParent;
+                    } else {
+                        if (node == parent.left) {
+                            node = parent;
+                            root = rotateRight(root, node);
+                            parent = node.parent;
+                            grandParent = parent == null ? null : parent.parent;
+                        }
+                        if (parent != null) {
+                            parent.red = false;
+                            if (grandParent != null) {
+                                grandParent.red = true;
+                                root = rotateLeft(root, grandParent);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static <K, V> TreeNode<K, V> balanceDeletion(TreeNode<K, V> root, TreeNode<K, V> node) {
+            while (true) {
+                TreeNode<K, V> parent;
+                if (node == null || node == root) {
+                    return root;
+                } else if ((parent = node.parent) == null) {
+                    node.red = false;
+                    return node;
+                } else if (node.red) {
+                    node.red = false;
+                    return root;
+                } else if (parent.left == node) {
+                    TreeNode<K, V> sibling = parent.right;
+                    if (sibling != null && sibling.red) {
+                        sibling.red = false;
+                        parent.red = true;
+                        root = rotateLeft(root, parent);
+                        parent = node.parent;
+                        sibling = parent == null ? null : parent.right;
+                    }
+                    if (sibling == null) {
+                        node = parent;
+                    } else {
+                        TreeNode<K, V> siblingLeft = sibling.left;
+                        TreeNode<K, V> siblingRight = sibling.right;
+                        if ((siblingRight == null || !siblingRight.red) && (siblingLeft == null || !siblingLeft.red)) {
+                            sibling.red = true;
+                            node = parent;
+                        } else {
+                            if (siblingRight == null || !siblingRight.red) {
+                                if (siblingLeft != null) {
+                                    siblingLeft.red = false;
+                                }
+                                sibling.red = true;
+                                root = rotateRight(root, sibling);
+                                parent = node.parent;
+                                sibling = parent == null ? null : parent.right;
+                            }
+                            if (sibling != null) {
+                                sibling.red = parent != null && parent.red;
+                                if (sibling.right != null) {
+                                    sibling.right.red = false;
+                                }
+                            }
+                            if (parent != null) {
+                                parent.red = false;
+                                root = rotateLeft(root, parent);
+                            }
+                            node = root;
+                        }
+                    }
+                } else {
+                    TreeNode<K, V> sibling = parent.left;
+                    if (sibling != null && sibling.red) {
+                        sibling.red = false;
+                        parent.red = true;
+                        root = rotateRight(root, parent);
+                        parent = node.parent;
+                        sibling = parent == null ? null : parent.left;
+                    }
+                    if (sibling == null) {
+                        node = parent;
+                    } else {
+                        TreeNode<K, V> siblingLeft = sibling.left;
+                        TreeNode<K, V> siblingRight = sibling.right;
+                        if ((siblingLeft == null || !siblingLeft.red) && (siblingRight == null || !siblingRight.red)) {
+                            sibling.red = true;
+                            node = parent;
+                        } else {
+                            if (siblingLeft == null || !siblingLeft.red) {
+                                if (siblingRight != null) {
+                                    siblingRight.red = false;
+                                }
+                                sibling.red = true;
+                                root = rotateLeft(root, sibling);
+                                parent = node.parent;
+                                sibling = parent == null ? null : parent.left;
+                            }
+                            if (sibling != null) {
+                                sibling.red = parent != null && parent.red;
+                                if (sibling.left != null) {
+                                    sibling.left.red = false;
+                                }
+                            }
+                            if (parent != null) {
+                                parent.red = false;
+                                root = rotateRight(root, parent);
+                            }
+                            node = root;
+                        }
+                    }
+                }
+            }
+        }
+
+        private static Class<?> comparableClassFor(Object key) {
+            if (!(key instanceof Comparable)) {
+                return null;
+            }
+            Class<?> keyClass = key.getClass();
+            if (keyClass == String.class) {
+                return keyClass;
+            }
+            for (Type type : keyClass.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType) {
+                    ParameterizedType parameterizedType = (ParameterizedType) type;
+                    Type[] arguments = parameterizedType.getActualTypeArguments();
+                    if (parameterizedType.getRawType() == Comparable.class
+                            && arguments.length == 1 && arguments[0] == keyClass) {
+                        return keyClass;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private static int compareComparables(Class<?> keyClass, Object key, Object other) {
+            return other == null || other.getClass() != keyClass ? 0 : ((Comparable) key).compareTo(other);
+        }
+
+        private static int tieBreakOrder(Object first, Object second) {
+            int order = 0;
+            if (first != null && second != null) {
+                order = first.getClass().getName().compareTo(second.getClass().getName());
+            }
+            if (order == 0) {
+                order = System.identityHashCode(first) <= System.identityHashCode(second) ? -1 : 1;
+            }
+            return order;
+        }
+    }
 }
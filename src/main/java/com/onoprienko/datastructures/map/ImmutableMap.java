@@ -0,0 +1,222 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+
+public final class ImmutableMap<K, V> implements Map<K, V> {
+    private static final Object NULL_KEY = new Object();
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    private final Object[] table;
+    private final int mask;
+    private final int size;
+
+    private ImmutableMap(List<Object> entries) {
+        int capacity = PrimitiveHashing.tableSizeFor(entries.size() / 2);
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Map is too large to copy: " + entries.size() / 2);
+        }
+        this.table = new Object[capacity * 2];
+        this.mask = capacity - 1;
+        int size = 0;
+        for (int i = 0; i < entries.size(); i += 2) {
+            if (insert(entries.get(i), entries.get(i + 1))) {
+                size++;
+            }
+        }
+        this.size = size;
+    }
+
+    public static <K, V> ImmutableMap<K, V> copyOf(Map<K, V> map) {
+        if (map instanceof ImmutableMap) {
+            return (ImmutableMap<K, V>) map;
+        }
+        // the source may still change while it is copied, so the table is sized from what was actually read
+        List<Object> entries = new ArrayList<>((int) Math.min(map.size() * 2L, Integer.MAX_VALUE - 8));
+        map.forEach((key, value) -> {
+            entries.add(key == null ? NULL_KEY : key);
+            entries.add(value);
+        });
+        return new ImmutableMap<>(entries);
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("ImmutableMap does not support put");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int index = find(key);
+        return index < 0 ? null : (V) table[index + 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        int index = find(key);
+        return index < 0 ? defaultValue : (V) table[index + 1];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null && Objects.equals(table[i + 1], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("ImmutableMap does not support remove");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Object[] table = this.table;
+        for (int i = 0; i < table.length; i += 2) {
+            Object key = table[i];
+            if (key != null) {
+                action.accept(unmaskNull(key), (V) table[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new ImmutableMapIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<K, V> entry : this) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+
+    private int find(K key) {
+        Object maskedKey = key == null ? NULL_KEY : key;
+        Object[] table = this.table;
+        int index = (getHash(maskedKey) & mask) << 1;
+        while (true) {
+            Object current = table[index];
+            if (current == null) {
+                return -1;
+            }
+            if (current == maskedKey || current.equals(maskedKey)) {
+                return index;
+            }
+            index = (index + 2) & (table.length - 1);
+        }
+    }
+
+    private boolean insert(Object maskedKey, Object value) {
+        int index = (getHash(maskedKey) & mask) << 1;
+        while (table[index] != null) {
+            if (table[index].equals(maskedKey)) {
+                table[index + 1] = value;
+                return false;
+            }
+            index = (index + 2) & (table.length - 1);
+        }
+        table[index] = maskedKey;
+        table[index + 1] = value;
+        return true;
+    }
+
+    private static int getHash(Object maskedKey) {
+        if (maskedKey == NULL_KEY) {
+            return 0;
+        }
+        int hash = maskedKey.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private class ImmutableMapIterator implements Iterator<Entry<K, V>> {
+        private int nextIndex = nextOccupied(0);
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < table.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (nextIndex >= table.length) {
+                throw new NoSuchElementException("No next value found");
+            }
+            ImmutableEntry<K, V> entry = new ImmutableEntry<>(unmaskNull(table[nextIndex]), (V) table[nextIndex + 1]);
+            nextIndex = nextOccupied(nextIndex + 2);
+            return entry;
+        }
+
+        private int nextOccupied(int index) {
+            while (index < table.length && table[index] == null) {
+                index += 2;
+            }
+            return index;
+        }
+    }
+
+    private static class ImmutableEntry<K, V> implements Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private ImmutableEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("ImmutableMap entries are read-only");
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+public class IntIntMap {
+    public static final int NO_VALUE = 0;
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public IntIntMap() {
+        this(PrimitiveHashing.INITIAL_CAPACITY);
+    }
+
+    public IntIntMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int oldValue = freeKeyValue;
+            freeKeyValue = value;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            return oldValue;
+        }
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                int oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size >= threshold) {
+            rehash(PrimitiveHashing.nextCapacity(keys.length));
+            index = PrimitiveHashing.mix(key) & mask;
+            while (keys[index] != FREE_KEY) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return NO_VALUE;
+    }
+
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            return freeKeyValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? NO_VALUE : values[index];
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            int oldValue = freeKeyValue;
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                freeKeyValue = 0;
+                size--;
+            }
+            return oldValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return NO_VALUE;
+        }
+        int oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, 0);
+        hasFreeKey = false;
+        freeKeyValue = 0;
+        size = 0;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            result.add(cursor.key() + "=" + cursor.value());
+        }
+        return result.toString();
+    }
+
+
+    private int indexOf(int key) {
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int emptied) {
+        int current = (emptied + 1) & mask;
+        while (keys[current] != FREE_KEY) {
+            int home = PrimitiveHashing.mix(keys[current]) & mask;
+            if (PrimitiveHashing.shouldShift(emptied, home, current)) {
+                keys[emptied] = keys[current];
+                values[emptied] = values[current];
+                emptied = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[emptied] = FREE_KEY;
+        values[emptied] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = PrimitiveHashing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = PrimitiveHashing.thresholdFor(capacity);
+    }
+
+    public class Cursor {
+        private int index = -1;
+        private boolean freeKeyVisited;
+        private boolean positioned;
+        private int key;
+        private int value;
+
+        public boolean advance() {
+            if (!freeKeyVisited) {
+                freeKeyVisited = true;
+                if (hasFreeKey) {
+                    key = FREE_KEY;
+                    value = freeKeyValue;
+                    positioned = true;
+                    return true;
+                }
+            }
+            while (++index < keys.length) {
+                if (keys[index] != FREE_KEY) {
+                    key = keys[index];
+                    value = values[index];
+                    positioned = true;
+                    return true;
+                }
+            }
+            positioned = false;
+            return false;
+        }
+
+        public int key() {
+            checkPosition();
+            return key;
+        }
+
+        public int value() {
+            checkPosition();
+            return value;
+        }
+
+        private void checkPosition() {
+            if (!positioned) {
+                throw new NoSuchElementException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+public class IntObjectMap<V> {
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private Object[] values;
+    private boolean hasFreeKey;
+    private V freeKeyValue;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public IntObjectMap() {
+        this(PrimitiveHashing.INITIAL_CAPACITY);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == FREE_KEY) {
+            V oldValue = freeKeyValue;
+            freeKeyValue = value;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            return oldValue;
+        }
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size >= threshold) {
+            rehash(PrimitiveHashing.nextCapacity(keys.length));
+            index = PrimitiveHashing.mix(key) & mask;
+            while (keys[index] != FREE_KEY) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == FREE_KEY) {
+            return freeKeyValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : (V) values[index];
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == FREE_KEY) {
+            V oldValue = freeKeyValue;
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                freeKeyValue = null;
+                size--;
+            }
+            return oldValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        hasFreeKey = false;
+        freeKeyValue = null;
+        size = 0;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            result.add(cursor.key() + "=" + cursor.value());
+        }
+        return result.toString();
+    }
+
+
+    private int indexOf(int key) {
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int emptied) {
+        int current = (emptied + 1) & mask;
+        while (keys[current] != FREE_KEY) {
+            int home = PrimitiveHashing.mix(keys[current]) & mask;
+            if (PrimitiveHashing.shouldShift(emptied, home, current)) {
+                keys[emptied] = keys[current];
+                values[emptied] = values[current];
+                emptied = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[emptied] = FREE_KEY;
+        values[emptied] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = PrimitiveHashing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = PrimitiveHashing.thresholdFor(capacity);
+    }
+
+    public class Cursor {
+        private int index = -1;
+        private boolean freeKeyVisited;
+        private boolean positioned;
+        private int key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        public boolean advance() {
+            if (!freeKeyVisited) {
+                freeKeyVisited = true;
+                if (hasFreeKey) {
+                    key = FREE_KEY;
+                    value = freeKeyValue;
+                    positioned = true;
+                    return true;
+                }
+            }
+            while (++index < keys.length) {
+                if (keys[index] != FREE_KEY) {
+                    key = keys[index];
+                    value = (V) values[index];
+                    positioned = true;
+                    return true;
+                }
+            }
+            positioned = false;
+            return false;
+        }
+
+        public int key() {
+            checkPosition();
+            return key;
+        }
+
+        public V value() {
+            checkPosition();
+            return value;
+        }
+
+        private void checkPosition() {
+            if (!positioned) {
+                throw new NoSuchElementException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
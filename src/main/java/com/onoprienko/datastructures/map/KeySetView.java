@@ -0,0 +1,60 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+class KeySetView<K, V> extends AbstractSet<K> {
+    private final Map<K, V> map;
+
+    KeySetView(Map<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        Iterator<Map.Entry<K, V>> iterator = map.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public K next() {
+                return iterator.next().getKey();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object key) {
+        return map.containsKey((K) key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(Object key) {
+        if (!map.containsKey((K) key)) {
+            return false;
+        }
+        map.remove((K) key);
+        return true;
+    }
+
+    @Override
+    public void forEach(Consumer<? super K> action) {
+        map.forEachKey(action);
+    }
+}
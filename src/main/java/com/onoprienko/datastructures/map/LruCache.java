@@ -0,0 +1,348 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongBiFunction;
+
+public class LruCache<K, V> implements Map<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+
+    private Node[] buckets;
+    private int size;
+    private Node head;
+    private Node tail;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public LruCache(int maxSize) {
+        this(maxSize, (key, value) -> {
+        });
+    }
+
+    public LruCache(int maxSize, BiConsumer<? super K, ? super V> evictionListener) {
+        this(maxSize, Long.MAX_VALUE, (key, value) -> 1, evictionListener);
+    }
+
+    public LruCache(int maxSize, long maxWeight, ToLongBiFunction<? super K, ? super V> weigher,
+                    BiConsumer<? super K, ? super V> evictionListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Max weight must be positive: " + maxWeight);
+        }
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.buckets = newBuckets(INITIAL_CAPACITY);
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        long entryWeight = weigh(key, value);
+        int hash = getHash(key);
+        Node node = find(key, hash);
+        V oldValue = null;
+        if (node == null) {
+            node = new Node(key, hash, value, entryWeight);
+            linkBucket(node);
+            linkFirst(node);
+            if (++size > buckets.length - (buckets.length >>> 2)) {
+                resize();
+            }
+        } else {
+            oldValue = node.value;
+            weight -= node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            moveToFront(node);
+        }
+        weight += entryWeight;
+        evict();
+        return oldValue;
+    }
+
+    @Override
+    public V get(K key) {
+        Node node = find(key, getHash(key));
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToFront(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key, getHash(key)) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node node = find(key, getHash(key));
+        if (node == null) {
+            return null;
+        }
+        remove(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long weight() {
+        return weight;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<K, V> entry : this) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Node node = head; node != null; node = node.next) {
+            action.accept(node.key, node.value);
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new LruCacheIterator();
+    }
+
+
+    private long weigh(K key, V value) {
+        long entryWeight = weigher.applyAsLong(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + entryWeight);
+        }
+        return entryWeight;
+    }
+
+    private void evict() {
+        while (tail != null && (size > maxSize || weight > maxWeight)) {
+            Node eldest = tail;
+            remove(eldest);
+            evictionCount++;
+            evictionListener.accept(eldest.key, eldest.value);
+        }
+    }
+
+    private Node find(K key, int hash) {
+        for (Node node = buckets[hash & (buckets.length - 1)]; node != null; node = node.nextInBucket) {
+            if (node.hash == hash && Objects.equals(node.key, key)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void linkBucket(Node node) {
+        int bucketIndex = node.hash & (buckets.length - 1);
+        node.nextInBucket = buckets[bucketIndex];
+        buckets[bucketIndex] = node;
+    }
+
+    private void unlinkBucket(Node node) {
+        int bucketIndex = node.hash & (buckets.length - 1);
+        Node current = buckets[bucketIndex];
+        if (current == node) {
+            buckets[bucketIndex] = node.nextInBucket;
+        } else {
+            while (current.nextInBucket != node) {
+                current = current.nextInBucket;
+            }
+            current.nextInBucket = node.nextInBucket;
+        }
+        node.nextInBucket = null;
+    }
+
+    private void resize() {
+        if (buckets.length == MAXIMUM_CAPACITY) {
+            return;
+        }
+        buckets = newBuckets(buckets.length << 1);
+        for (Node node = head; node != null; node = node.next) {
+            linkBucket(node);
+        }
+    }
+
+    private void moveToFront(Node node) {
+        if (node != head) {
+            unlink(node);
+            linkFirst(node);
+        }
+    }
+
+    private void linkFirst(Node node) {
+        node.prev = null;
+        node.next = head;
+        if (head == null) {
+            tail = node;
+        } else {
+            head.prev = node;
+        }
+        head = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+    }
+
+    private void remove(Node node) {
+        unlinkBucket(node);
+        unlink(node);
+        // next is kept so that an iterator standing on a removed node can still reach the rest of the list
+        node.prev = null;
+        node.removed = true;
+        size--;
+        weight -= node.weight;
+    }
+
+    private static int getHash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node[] newBuckets(int capacity) {
+        return (Node[]) new LruCache<?, ?>.Node[capacity];
+    }
+
+    private class LruCacheIterator implements Iterator<Entry<K, V>> {
+        private Node next = head;
+        private Node lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            skipRemoved();
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            skipRemoved();
+            if (next == null) {
+                throw new NoSuchElementException("No next value found");
+            }
+            lastReturned = next;
+            next = next.next;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No values to remove");
+            }
+            if (!lastReturned.removed) {
+                LruCache.this.remove(lastReturned);
+            }
+            lastReturned = null;
+        }
+
+        private void skipRemoved() {
+            while (next != null && next.removed) {
+                next = next.next;
+            }
+        }
+    }
+
+    private class Node implements Entry<K, V> {
+        private final K key;
+        private final int hash;
+        private V value;
+        private long weight;
+        private Node nextInBucket;
+        private Node prev;
+        private Node next;
+        private boolean removed;
+
+        private Node(K key, int hash, V value, long weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (removed) {
+                V oldValue = this.value;
+                this.value = value;
+                return oldValue;
+            }
+            long newWeight = weigh(key, value);
+            LruCache.this.weight += newWeight - weight;
+            weight = newWeight;
+            V oldValue = this.value;
+            this.value = value;
+            evict();
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+}
@@ -1,5 +1,16 @@
 package com.onoprienko.datastructures.map;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Map<K, V> extends Iterable<Map.Entry<K, V>> {
     V put(K key, V value);
@@ -12,6 +23,124 @@ public interface Map<K, V> extends Iterable<Map.Entry<K, V>> {
 
     int size();
 
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default boolean containsValue(V value) {
+        for (Entry<K, V> entry : this) {
+            if (Objects.equals(entry.getValue(), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    default Set<K> keySet() {
+        return new KeySetView<>(this);
+    }
+
+    default Collection<V> values() {
+        return new ValuesView<>(this);
+    }
+
+    default Set<Entry<K, V>> entrySet() {
+        return new EntrySetView<>(this);
+    }
+
+    default V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null || containsKey(key) ? value : defaultValue;
+    }
+
+    default V putIfAbsent(K key, V value) {
+        V oldValue = get(key);
+        if (oldValue == null) {
+            oldValue = put(key, value);
+        }
+        return oldValue;
+    }
+
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        V oldValue = get(key);
+        if (oldValue != null) {
+            return oldValue;
+        }
+        V newValue = mappingFunction.apply(key);
+        if (newValue != null) {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        V oldValue = get(key);
+        if (oldValue == null) {
+            return null;
+        }
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        V oldValue = get(key);
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue != null) {
+            put(key, newValue);
+        } else if (oldValue != null || containsKey(key)) {
+            remove(key);
+        }
+        return newValue;
+    }
+
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Objects.requireNonNull(value);
+        V oldValue = get(key);
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Entry<K, V> entry : this) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    default void forEachKey(Consumer<? super K> action) {
+        forEach((key, value) -> action.accept(key));
+    }
+
+    default void forEachValue(Consumer<? super V> action) {
+        forEach((key, value) -> action.accept(value));
+    }
+
+    @Override
+    default Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    default Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     interface Entry<K, V> {
         K getKey();
 
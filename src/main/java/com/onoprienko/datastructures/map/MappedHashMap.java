@@ -0,0 +1,638 @@
+package com.onoprienko.datastructures.map;
+
+import com.onoprienko.datastructures.codec.Codec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public class MappedHashMap<K, V> implements Map<K, V>, AutoCloseable {
+    private static final int MAGIC = 0x4D484D50;
+    private static final int VERSION = 1;
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final long INITIAL_DATA_SIZE = 1 << 12;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int STATE_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int TOMBSTONES_OFFSET = 20;
+    private static final int DATA_END_OFFSET = 24;
+    private static final int DEAD_BYTES_OFFSET = 32;
+    private static final int CLEAN = 1;
+    private static final int DIRTY = 2;
+
+    private static final int SLOT_SIZE = 16;
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int PADDING = -1;
+    private static final int REMOVED = -1;
+    private static final long MIN_COMPACTION_BYTES = INITIAL_DATA_SIZE;
+
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final Path file;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private FileChannel channel;
+    private MappedByteBuffer[] chunks;
+    private long fileLength;
+    private int capacity;
+    private int mask;
+    private int threshold;
+    private int size;
+    private int tombstones;
+    private long dataStart;
+    private long dataEnd;
+    private long deadBytes;
+    private boolean clean;
+
+    public MappedHashMap(Path file, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(file, keyCodec, valueCodec, PrimitiveHashing.INITIAL_CAPACITY);
+    }
+
+    public MappedHashMap(Path file, Codec<K> keyCodec, Codec<V> valueCodec, int expectedSize) {
+        this(file, keyCodec, valueCodec, PrimitiveHashing.tableSizeFor(expectedSize), false);
+    }
+
+    private MappedHashMap(Path file, Codec<K> keyCodec, Codec<V> valueCodec, int capacity, boolean truncate) {
+        this.file = Objects.requireNonNull(file);
+        this.keyCodec = Objects.requireNonNull(keyCodec);
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+        open(capacity, truncate);
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        V oldValue = putValue(key, value);
+        compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public V get(K key) {
+        checkOpen();
+        Objects.requireNonNull(key);
+        int slot = findSlot(key, getHash(key));
+        return slot < 0 ? null : readValue(slotPosition(slot));
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        checkOpen();
+        Objects.requireNonNull(key);
+        return findSlot(key, getHash(key)) >= 0;
+    }
+
+    @Override
+    public V remove(K key) {
+        V oldValue = removeValue(key);
+        compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public void force() {
+        checkOpen();
+        for (MappedByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                chunk.force();
+            }
+        }
+        MappedByteBuffer header = chunk(0);
+        header.putInt(CAPACITY_OFFSET, capacity);
+        header.putInt(SIZE_OFFSET, size);
+        header.putInt(TOMBSTONES_OFFSET, tombstones);
+        header.putLong(DATA_END_OFFSET, dataEnd);
+        header.putLong(DEAD_BYTES_OFFSET, deadBytes);
+        header.putInt(STATE_OFFSET, CLEAN);
+        header.force(0, HEADER_SIZE);
+        clean = true;
+    }
+
+    public void compact() {
+        checkOpen();
+        rewrite(capacity);
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        force();
+        closeChannel();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        checkOpen();
+        return new MappedHashMapIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<K, V> entry : this) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+
+    // iterators write through these so that a compaction never reorders slots under their cursor
+    private V putValue(K key, V value) {
+        checkOpen();
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int hash = getHash(key);
+        int slot = findSlot(key, hash);
+        V oldValue = slot < 0 ? null : readValue(slotPosition(slot));
+        markDirty();
+        long position = appendRecord(key, value, hash);
+        if (slot >= 0) {
+            deadBytes += recordLength(slotPosition(slot));
+            writeSlot(slot, position, hash);
+            return oldValue;
+        }
+        insertSlot(position, hash);
+        size++;
+        if (size + tombstones > threshold) {
+            rewrite(size >= threshold / 2 ? PrimitiveHashing.nextCapacity(capacity) : capacity);
+        }
+        return null;
+    }
+
+    private V removeValue(K key) {
+        checkOpen();
+        Objects.requireNonNull(key);
+        int hash = getHash(key);
+        int slot = findSlot(key, hash);
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = readValue(slotPosition(slot));
+        markDirty();
+        long position = appendRecord(key, null, hash);
+        deadBytes += recordLength(slotPosition(slot)) + recordLength(position);
+        writeSlot(slot, TOMBSTONE, 0);
+        size--;
+        tombstones++;
+        return oldValue;
+    }
+
+    private void open(int newCapacity, boolean truncate) {
+        try {
+            if (truncate) {
+                Files.deleteIfExists(file);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            chunks = new MappedByteBuffer[0];
+            fileLength = channel.size();
+            if (fileLength == 0) {
+                initialize(newCapacity);
+            } else {
+                load();
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void initialize(int newCapacity) {
+        setCapacity(newCapacity);
+        dataEnd = dataStart;
+        size = 0;
+        tombstones = 0;
+        deadBytes = 0;
+        ensureFileLength(dataStart + INITIAL_DATA_SIZE);
+        MappedByteBuffer header = chunk(0);
+        header.putInt(MAGIC_OFFSET, MAGIC);
+        header.putInt(VERSION_OFFSET, VERSION);
+        force();
+    }
+
+    private void load() throws IOException {
+        if (fileLength < HEADER_SIZE) {
+            throw new IOException("File is too short to hold a map header: " + file);
+        }
+        MappedByteBuffer header = chunk(0);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("File is not a mapped hash map: " + file);
+        }
+        int storedCapacity = header.getInt(CAPACITY_OFFSET);
+        if (storedCapacity < 2 || Integer.bitCount(storedCapacity) != 1) {
+            throw new IOException("Corrupted map header, capacity " + storedCapacity + ": " + file);
+        }
+        setCapacity(storedCapacity);
+        dataEnd = header.getLong(DATA_END_OFFSET);
+        if (dataEnd < dataStart || dataEnd > fileLength) {
+            throw new IOException("Corrupted map header, data end " + dataEnd + ": " + file);
+        }
+        size = header.getInt(SIZE_OFFSET);
+        tombstones = header.getInt(TOMBSTONES_OFFSET);
+        deadBytes = header.getLong(DEAD_BYTES_OFFSET);
+        clean = header.getInt(STATE_OFFSET) == CLEAN;
+        if (!clean) {
+            recover();
+        }
+    }
+
+    private void recover() {
+        for (int slot = 0; slot < capacity; slot++) {
+            writeSlot(slot, EMPTY, 0);
+        }
+        size = 0;
+        tombstones = 0;
+        deadBytes = 0;
+        long position = dataStart;
+        while (position < dataEnd) {
+            long remaining = CHUNK_SIZE - (position & CHUNK_MASK);
+            ByteBuffer chunk = chunk(position);
+            int offset = offset(position);
+            if (remaining < RECORD_HEADER_SIZE || chunk.getInt(offset) == PADDING) {
+                position += remaining;
+                continue;
+            }
+            int hash = chunk.getInt(offset + 2 * Integer.BYTES);
+            int slot = findSlot(readKey(position), hash);
+            if (slot >= 0) {
+                deadBytes += recordLength(slotPosition(slot));
+            }
+            if (chunk.getInt(offset + Integer.BYTES) == REMOVED) {
+                deadBytes += recordLength(position);
+                if (slot >= 0) {
+                    writeSlot(slot, TOMBSTONE, 0);
+                    size--;
+                    tombstones++;
+                }
+            } else if (slot >= 0) {
+                writeSlot(slot, position, hash);
+            } else {
+                insertSlot(position, hash);
+                size++;
+            }
+            position += recordLength(position);
+        }
+        force();
+    }
+
+    private void rewrite(int newCapacity) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        MappedHashMap<K, V> target = new MappedHashMap<>(temp, keyCodec, valueCodec, newCapacity, true);
+        for (int slot = 0; slot < capacity; slot++) {
+            long position = slotPosition(slot);
+            if (position > EMPTY) {
+                target.copyRecord(chunk(position), offset(position), recordLength(position), slotHash(slot));
+            }
+        }
+        target.close();
+        closeChannel();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        syncDirectory();
+        open(newCapacity, false);
+    }
+
+    private void compactIfWasteful() {
+        if (deadBytes > MIN_COMPACTION_BYTES && deadBytes > dataEnd - dataStart - deadBytes) {
+            rewrite(capacity);
+        }
+    }
+
+    // the rename is only durable once the directory entry is flushed as well
+    private void syncDirectory() {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // some platforms cannot open a directory as a channel, the move itself already succeeded
+        }
+    }
+
+    private void copyRecord(ByteBuffer source, int sourceOffset, int length, int hash) {
+        markDirty();
+        long position = allocate(length);
+        chunk(position).put(offset(position), source, sourceOffset, length);
+        insertSlot(position, hash);
+        size++;
+    }
+
+    private void setCapacity(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        threshold = PrimitiveHashing.thresholdFor(newCapacity);
+        dataStart = HEADER_SIZE + (long) newCapacity * SLOT_SIZE;
+    }
+
+    private void markDirty() {
+        if (clean) {
+            MappedByteBuffer header = chunk(0);
+            header.putInt(STATE_OFFSET, DIRTY);
+            header.force(0, HEADER_SIZE);
+            clean = false;
+        }
+    }
+
+    private int findSlot(K key, int hash) {
+        int slot = hash & mask;
+        while (true) {
+            long position = slotPosition(slot);
+            if (position == EMPTY) {
+                return -1;
+            }
+            if (position != TOMBSTONE && slotHash(slot) == hash && key.equals(readKey(position))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insertSlot(long position, int hash) {
+        int slot = hash & mask;
+        long current;
+        while ((current = slotPosition(slot)) != EMPTY && current != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (current == TOMBSTONE) {
+            tombstones--;
+        }
+        writeSlot(slot, position, hash);
+    }
+
+    private long slotPosition(int slot) {
+        long address = slotAddress(slot);
+        return chunk(address).getLong(offset(address));
+    }
+
+    private int slotHash(int slot) {
+        long address = slotAddress(slot);
+        return chunk(address).getInt(offset(address) + Long.BYTES);
+    }
+
+    private void writeSlot(int slot, long position, int hash) {
+        long address = slotAddress(slot);
+        MappedByteBuffer chunk = chunk(address);
+        chunk.putLong(offset(address), position);
+        chunk.putInt(offset(address) + Long.BYTES, hash);
+    }
+
+    private static long slotAddress(int slot) {
+        return HEADER_SIZE + (long) slot * SLOT_SIZE;
+    }
+
+    private long appendRecord(K key, V value, int hash) {
+        int keyLength = keyCodec.size(key);
+        int valueLength = value == null ? REMOVED : valueCodec.size(value);
+        long position = allocate(RECORD_HEADER_SIZE + keyLength + Math.max(valueLength, 0));
+        MappedByteBuffer chunk = chunk(position);
+        int offset = offset(position);
+        chunk.putInt(offset, keyLength);
+        chunk.putInt(offset + Integer.BYTES, valueLength);
+        chunk.putInt(offset + 2 * Integer.BYTES, hash);
+        keyCodec.write(key, chunk.slice(offset + RECORD_HEADER_SIZE, keyLength));
+        if (value != null) {
+            valueCodec.write(value, chunk.slice(offset + RECORD_HEADER_SIZE + keyLength, valueLength));
+        }
+        return position;
+    }
+
+    private long allocate(int length) {
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit into a chunk");
+        }
+        long position = dataEnd;
+        long remaining = CHUNK_SIZE - (position & CHUNK_MASK);
+        if (length > remaining) {
+            if (remaining >= Integer.BYTES) {
+                ensureFileLength(position + Integer.BYTES);
+                chunk(position).putInt(offset(position), PADDING);
+            }
+            position += remaining;
+        }
+        ensureFileLength(position + length);
+        dataEnd = position + length;
+        return position;
+    }
+
+    private K readKey(long position) {
+        MappedByteBuffer chunk = chunk(position);
+        int offset = offset(position);
+        int keyLength = chunk.getInt(offset);
+        return keyCodec.read(chunk.slice(offset + RECORD_HEADER_SIZE, keyLength), keyLength);
+    }
+
+    private V readValue(long position) {
+        MappedByteBuffer chunk = chunk(position);
+        int offset = offset(position);
+        int keyLength = chunk.getInt(offset);
+        int valueLength = chunk.getInt(offset + Integer.BYTES);
+        return valueCodec.read(chunk.slice(offset + RECORD_HEADER_SIZE + keyLength, valueLength), valueLength);
+    }
+
+    private int recordLength(long position) {
+        MappedByteBuffer chunk = chunk(position);
+        int offset = offset(position);
+        return RECORD_HEADER_SIZE + chunk.getInt(offset) + Math.max(chunk.getInt(offset + Integer.BYTES), 0);
+    }
+
+    private void ensureFileLength(long requiredLength) {
+        if (requiredLength <= fileLength) {
+            return;
+        }
+        long newLength = Math.max(requiredLength, fileLength + Math.min(fileLength, CHUNK_SIZE));
+        try {
+            channel.write(ByteBuffer.allocate(1), newLength - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (fileLength > 0) {
+            int lastChunk = (int) ((fileLength - 1) >>> CHUNK_SHIFT);
+            if (lastChunk < chunks.length) {
+                unmap(chunks[lastChunk]);
+                chunks[lastChunk] = null;
+            }
+        }
+        fileLength = newLength;
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        int index = (int) (position >>> CHUNK_SHIFT);
+        if (index >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, index + 1);
+        }
+        MappedByteBuffer chunk = chunks[index];
+        if (chunk == null) {
+            long start = (long) index << CHUNK_SHIFT;
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(CHUNK_SIZE, fileLength - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    private static int offset(long position) {
+        return (int) (position & CHUNK_MASK);
+    }
+
+    private int getHash(K key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkOpen() {
+        if (channel == null) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (chunks != null) {
+                for (MappedByteBuffer chunk : chunks) {
+                    unmap(chunk);
+                }
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            channel = null;
+            chunks = null;
+        }
+    }
+
+    // mappings are otherwise released only by the garbage collector, and a mapped file cannot be replaced on every platform
+    private static void unmap(MappedByteBuffer chunk) {
+        if (chunk == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) chunk);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to unmap map file chunk", e);
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private class MappedHashMapIterator implements Iterator<Entry<K, V>> {
+        private int nextSlot = nextOccupied(0);
+        private MappedEntry lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < capacity;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (nextSlot >= capacity) {
+                throw new NoSuchElementException("No next value found");
+            }
+            long position = slotPosition(nextSlot);
+            lastReturned = new MappedEntry(readKey(position), readValue(position));
+            nextSlot = nextOccupied(nextSlot + 1);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No values to remove");
+            }
+            removeValue(lastReturned.key);
+            lastReturned = null;
+        }
+
+        private int nextOccupied(int slot) {
+            while (slot < capacity && slotPosition(slot) <= EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    private class MappedEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private MappedEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            putValue(key, value);
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.onoprienko.datastructures.map;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class OffHeapLongBytesMap implements AutoCloseable {
+    private static final int PAGE_BYTES = 1 << 20;
+    private static final int LENGTH_OFFSET = Long.BYTES;
+    private static final int VALUE_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+    private static final int FREE = 0;
+
+    private final int maxValueSize;
+    private final int slotSize;
+    private ByteBuffer[] pages;
+    private int pageShift;
+    private int pageMask;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public OffHeapLongBytesMap(int maxValueSize) {
+        this(maxValueSize, PrimitiveHashing.INITIAL_CAPACITY);
+    }
+
+    public OffHeapLongBytesMap(int maxValueSize, int expectedSize) {
+        if (maxValueSize <= 0 || maxValueSize > Integer.MAX_VALUE - 2 * VALUE_OFFSET) {
+            throw new IllegalArgumentException("Max value size is out of range: " + maxValueSize);
+        }
+        this.maxValueSize = maxValueSize;
+        this.slotSize = (VALUE_OFFSET + maxValueSize + Long.BYTES - 1) & -Long.BYTES;
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+
+    public boolean put(long key, byte[] value) {
+        checkOpen();
+        Objects.requireNonNull(value);
+        if (value.length > maxValueSize) {
+            throw new IllegalArgumentException("Value length " + value.length + " exceeds max value size " + maxValueSize);
+        }
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (lengthTag(index) != FREE) {
+            if (keyAt(index) == key) {
+                writeValue(index, value);
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size >= threshold) {
+            rehash(PrimitiveHashing.nextCapacity(mask + 1));
+            index = PrimitiveHashing.mix(key) & mask;
+            while (lengthTag(index) != FREE) {
+                index = (index + 1) & mask;
+            }
+        }
+        page(index).putLong(offset(index), key);
+        writeValue(index, value);
+        size++;
+        return true;
+    }
+
+    public byte[] get(long key) {
+        checkOpen();
+        int index = indexOf(key);
+        return index < 0 ? null : readValue(index);
+    }
+
+    public int get(long key, byte[] target) {
+        checkOpen();
+        int index = indexOf(key);
+        return index < 0 ? -1 : readValue(index, target);
+    }
+
+    public boolean containsKey(long key) {
+        checkOpen();
+        return indexOf(key) >= 0;
+    }
+
+    public boolean remove(long key) {
+        checkOpen();
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        shiftKeys(index);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int maxValueSize() {
+        return maxValueSize;
+    }
+
+    public long offHeapBytes() {
+        return pages == null ? 0 : (long) (mask + 1) * slotSize;
+    }
+
+    public void clear() {
+        checkOpen();
+        for (int index = 0; index <= mask; index++) {
+            page(index).putInt(offset(index) + LENGTH_OFFSET, FREE);
+        }
+        size = 0;
+    }
+
+    public Cursor cursor() {
+        checkOpen();
+        return new Cursor();
+    }
+
+    @Override
+    public void close() {
+        pages = null;
+        size = 0;
+    }
+
+
+    private int indexOf(long key) {
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (lengthTag(index) != FREE) {
+            if (keyAt(index) == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int emptied) {
+        int current = (emptied + 1) & mask;
+        while (lengthTag(current) != FREE) {
+            int home = PrimitiveHashing.mix(keyAt(current)) & mask;
+            if (PrimitiveHashing.shouldShift(emptied, home, current)) {
+                copySlot(page(current), offset(current), emptied);
+                emptied = current;
+            }
+            current = (current + 1) & mask;
+        }
+        page(emptied).putInt(offset(emptied) + LENGTH_OFFSET, FREE);
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer[] oldPages = pages;
+        int oldCapacity = mask + 1;
+        int oldPageShift = pageShift;
+        int oldPageMask = pageMask;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            ByteBuffer oldPage = oldPages[i >>> oldPageShift];
+            int oldOffset = (i & oldPageMask) * slotSize;
+            if (oldPage.getInt(oldOffset + LENGTH_OFFSET) != FREE) {
+                int index = PrimitiveHashing.mix(oldPage.getLong(oldOffset)) & mask;
+                while (lengthTag(index) != FREE) {
+                    index = (index + 1) & mask;
+                }
+                copySlot(oldPage, oldOffset, index);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        int slotsPerPage = Math.min(capacity, Integer.highestOneBit(Math.max(1, PAGE_BYTES / slotSize)));
+        ByteBuffer[] newPages = new ByteBuffer[capacity / slotsPerPage];
+        for (int i = 0; i < newPages.length; i++) {
+            newPages[i] = ByteBuffer.allocateDirect(slotsPerPage * slotSize).order(ByteOrder.nativeOrder());
+        }
+        pages = newPages;
+        pageShift = Integer.numberOfTrailingZeros(slotsPerPage);
+        pageMask = slotsPerPage - 1;
+        mask = capacity - 1;
+        threshold = PrimitiveHashing.thresholdFor(capacity);
+    }
+
+    private void copySlot(ByteBuffer source, int sourceOffset, int index) {
+        int length = source.getInt(sourceOffset + LENGTH_OFFSET) - 1;
+        page(index).put(offset(index), source, sourceOffset, VALUE_OFFSET + length);
+    }
+
+    private void writeValue(int index, byte[] value) {
+        ByteBuffer page = page(index);
+        int offset = offset(index);
+        page.putInt(offset + LENGTH_OFFSET, value.length + 1);
+        page.put(offset + VALUE_OFFSET, value);
+    }
+
+    private byte[] readValue(int index) {
+        byte[] value = new byte[lengthTag(index) - 1];
+        page(index).get(offset(index) + VALUE_OFFSET, value);
+        return value;
+    }
+
+    private int readValue(int index, byte[] target) {
+        int length = lengthTag(index) - 1;
+        if (target.length < length) {
+            throw new IllegalArgumentException("Target length " + target.length + " is less than value length " + length);
+        }
+        page(index).get(offset(index) + VALUE_OFFSET, target, 0, length);
+        return length;
+    }
+
+    private long keyAt(int index) {
+        return page(index).getLong(offset(index));
+    }
+
+    private int lengthTag(int index) {
+        return page(index).getInt(offset(index) + LENGTH_OFFSET);
+    }
+
+    private ByteBuffer page(int index) {
+        return pages[index >>> pageShift];
+    }
+
+    private int offset(int index) {
+        return (index & pageMask) * slotSize;
+    }
+
+    private void checkOpen() {
+        if (pages == null) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    public class Cursor {
+        private int index = -1;
+        private boolean positioned;
+
+        public boolean advance() {
+            checkOpen();
+            while (++index <= mask) {
+                if (lengthTag(index) != FREE) {
+                    positioned = true;
+                    return true;
+                }
+            }
+            positioned = false;
+            return false;
+        }
+
+        public long key() {
+            checkPosition();
+            return keyAt(index);
+        }
+
+        public byte[] value() {
+            checkPosition();
+            return readValue(index);
+        }
+
+        public int value(byte[] target) {
+            checkPosition();
+            return readValue(index, target);
+        }
+
+        private void checkPosition() {
+            checkOpen();
+            if (!positioned) {
+                throw new NoSuchElementException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+
+public class OpenAddressingHashMap<K, V> implements Map<K, V> {
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int EMPTY = 0;
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public OpenAddressingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public OpenAddressingHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        allocate(tableSizeFor(capacity));
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Object maskedKey = maskNull(key);
+        int hash = getHash(maskedKey);
+        int index = find(maskedKey, hash);
+        if (index >= 0) {
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (size >= threshold) {
+            resize(keys.length * 2);
+        }
+        insert(maskedKey, value, hash);
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object maskedKey = maskNull(key);
+        int index = find(maskedKey, getHash(maskedKey));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Object maskedKey = maskNull(key);
+        return find(maskedKey, getHash(maskedKey)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        Object maskedKey = maskNull(key);
+        int index = find(maskedKey, getHash(maskedKey));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        shiftBackward(index);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<K, V> entry : this) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int[] hashes = this.hashes;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != EMPTY) {
+                action.accept(unmaskNull(keys[i]), (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new OpenAddressingHashMapIterator();
+    }
+
+
+    private int find(Object maskedKey, int hash) {
+        int index = hash & mask;
+        int distance = 0;
+        while (true) {
+            int currentHash = hashes[index];
+            if (currentHash == EMPTY || probeDistance(currentHash, index) < distance) {
+                return -1;
+            }
+            if (currentHash == hash && Objects.equals(keys[index], maskedKey)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    private void insert(Object maskedKey, Object value, int hash) {
+        int index = hash & mask;
+        int distance = 0;
+        while (true) {
+            int currentHash = hashes[index];
+            if (currentHash == EMPTY) {
+                hashes[index] = hash;
+                keys[index] = maskedKey;
+                values[index] = value;
+                return;
+            }
+            int currentDistance = probeDistance(currentHash, index);
+            if (currentDistance < distance) {
+                Object displacedKey = keys[index];
+                Object displacedValue = values[index];
+                hashes[index] = hash;
+                keys[index] = maskedKey;
+                values[index] = value;
+                hash = currentHash;
+                maskedKey = displacedKey;
+                value = displacedValue;
+                distance = currentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    private int shiftBackward(int index) {
+        int next = (index + 1) & mask;
+        while (hashes[next] != EMPTY && probeDistance(hashes[next], next) > 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = EMPTY;
+        keys[index] = null;
+        values[index] = null;
+        return index;
+    }
+
+    private int probeDistance(int hash, int index) {
+        return (index - (hash & mask)) & mask;
+    }
+
+    private void resize(int newCapacity) {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map reached maximum capacity");
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newCapacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) Math.min(capacity * LOAD_FACTOR, capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        return Math.min(tableSize, MAXIMUM_CAPACITY);
+    }
+
+    private static int getHash(Object maskedKey) {
+        int hash = maskedKey.hashCode();
+        return (hash ^ (hash >>> 16)) | Integer.MIN_VALUE;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object maskedKey) {
+        return maskedKey == NULL_KEY ? null : (K) maskedKey;
+    }
+
+    private class OpenAddressingHashMapIterator implements Iterator<Entry<K, V>> {
+        private int index = keys.length;
+        private int lastReturnedIndex = -1;
+        private Object lastReturnedKey;
+        private Object[] wrappedKeys;
+        private Object[] wrappedValues;
+        private int wrappedCount;
+
+        @Override
+        public boolean hasNext() {
+            while (index > 0 && hashes[index - 1] == EMPTY) {
+                index--;
+            }
+            return index > 0 || wrappedCount > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No next value found");
+            }
+            if (index > 0) {
+                index--;
+                lastReturnedIndex = index;
+                lastReturnedKey = keys[index];
+                return new OpenAddressingEntry(unmaskNull(lastReturnedKey), (V) values[index]);
+            }
+            wrappedCount--;
+            lastReturnedIndex = -1;
+            lastReturnedKey = wrappedKeys[wrappedCount];
+            return new OpenAddressingEntry(unmaskNull(lastReturnedKey), (V) wrappedValues[wrappedCount]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedKey == null) {
+                throw new IllegalStateException("No values to remove");
+            }
+            if (lastReturnedIndex < 0) {
+                OpenAddressingHashMap.this.remove(OpenAddressingHashMap.<K>unmaskNull(lastReturnedKey));
+            } else {
+                removeAt(lastReturnedIndex);
+            }
+            lastReturnedKey = null;
+        }
+
+        private void removeAt(int removedIndex) {
+            Object firstKey = keys[0];
+            Object firstValue = values[0];
+            int lastShifted = shiftBackward(removedIndex);
+            if (lastShifted < removedIndex) {
+                rememberWrapped(firstKey, firstValue);
+            }
+            size--;
+        }
+
+        private void rememberWrapped(Object key, Object value) {
+            if (wrappedKeys == null) {
+                wrappedKeys = new Object[4];
+                wrappedValues = new Object[4];
+            } else if (wrappedCount == wrappedKeys.length) {
+                Object[] newKeys = new Object[wrappedCount * 2];
+                Object[] newValues = new Object[wrappedCount * 2];
+                System.arraycopy(wrappedKeys, 0, newKeys, 0, wrappedCount);
+                System.arraycopy(wrappedValues, 0, newValues, 0, wrappedCount);
+                wrappedKeys = newKeys;
+                wrappedValues = newValues;
+            }
+            wrappedKeys[wrappedCount] = key;
+            wrappedValues[wrappedCount] = value;
+            wrappedCount++;
+        }
+    }
+
+    private class OpenAddressingEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private OpenAddressingEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            Object maskedKey = maskNull(key);
+            int index = find(maskedKey, getHash(maskedKey));
+            if (index >= 0) {
+                values[index] = value;
+            }
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+}
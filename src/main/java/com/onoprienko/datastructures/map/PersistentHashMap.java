@@ -0,0 +1,639 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+
+public final class PersistentHashMap<K, V> implements Map<K, V> {
+    private static final int BITS = 5;
+    private static final int FRAGMENT_MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = Integer.SIZE / BITS + 2;
+    private static final Object NULL_KEY = new Object();
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY_NODE, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(BitmapNode.EMPTY_NODE, 0);
+    }
+
+
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Object maskedKey = maskNull(key);
+        Change change = new Change();
+        Node newRoot = root.put(null, maskedKey, value, getHash(maskedKey), 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    public PersistentHashMap<K, V> without(K key) {
+        Object maskedKey = maskNull(key);
+        Change change = new Change();
+        Node newRoot = root.remove(null, maskedKey, getHash(maskedKey), 0, change);
+        if (!change.removed) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use with or a builder");
+    }
+
+    @Override
+    public V get(K key) {
+        return PersistentHashMap.<V>valueOrNull(find(root, key));
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Object value = find(root, key);
+        return value == NOT_FOUND ? defaultValue : PersistentHashMap.<V>valueOrNull(value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(root, key) != NOT_FOUND;
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use without or a builder");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new PersistentHashMapIterator<>(root);
+    }
+
+    @Override
+    public String toString() {
+        return PersistentHashMap.toString(this);
+    }
+
+
+    private static Object find(Node root, Object key) {
+        Object maskedKey = maskNull(key);
+        return root.find(maskedKey, getHash(maskedKey), 0);
+    }
+
+    private static int getHash(Object maskedKey) {
+        if (maskedKey == NULL_KEY) {
+            return 0;
+        }
+        int hash = maskedKey.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int fragment(int hash, int shift) {
+        return (hash >>> shift) & FRAGMENT_MASK;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V valueOrNull(Object value) {
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    private static String toString(Map<?, ?> map) {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        for (Entry<?, ?> entry : map) {
+            result.add(String.valueOf(entry));
+        }
+        return result.toString();
+    }
+
+    private static Node mergeTwo(Object owner, Object firstKey, Object firstValue, int firstHash,
+                                 Object secondKey, Object secondValue, int secondHash, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode(owner, firstHash, new Object[]{firstKey, firstValue, secondKey, secondValue});
+        }
+        int firstFragment = fragment(firstHash, shift);
+        int secondFragment = fragment(secondHash, shift);
+        if (firstFragment == secondFragment) {
+            Node child = mergeTwo(owner, firstKey, firstValue, firstHash, secondKey, secondValue, secondHash, shift + BITS);
+            return new BitmapNode(owner, 0, 1 << firstFragment, new Object[]{child});
+        }
+        Object[] content = firstFragment < secondFragment
+                ? new Object[]{firstKey, firstValue, secondKey, secondValue}
+                : new Object[]{secondKey, secondValue, firstKey, firstValue};
+        return new BitmapNode(owner, (1 << firstFragment) | (1 << secondFragment), 0, content);
+    }
+
+    public static final class Builder<K, V> implements Map<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            Object maskedKey = maskNull(key);
+            Change change = new Change();
+            root = root.put(owner, maskedKey, value, getHash(maskedKey), 0, change);
+            if (change.added) {
+                size++;
+            }
+            return PersistentHashMap.<V>valueOrNull(change.oldValue);
+        }
+
+        @Override
+        public V get(K key) {
+            return PersistentHashMap.<V>valueOrNull(find(root, key));
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return find(root, key) != NOT_FOUND;
+        }
+
+        @Override
+        public V remove(K key) {
+            Object maskedKey = maskNull(key);
+            Change change = new Change();
+            root = root.remove(owner, maskedKey, getHash(maskedKey), 0, change);
+            if (change.removed) {
+                size--;
+            }
+            return PersistentHashMap.<V>valueOrNull(change.oldValue);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        public PersistentHashMap<K, V> build() {
+            owner = new Object();
+            return size == 0 ? empty() : new PersistentHashMap<>(root, size);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            root.forEach(action);
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            // nodes edited in place would move entries under the cursor, so later edits copy their path instead
+            owner = new Object();
+            return new BuilderIterator(root);
+        }
+
+        @Override
+        public String toString() {
+            return PersistentHashMap.toString(this);
+        }
+
+        private class BuilderIterator implements Iterator<Entry<K, V>> {
+            private final PersistentHashMapIterator<K, V> iterator;
+            private Entry<K, V> lastReturned;
+
+            private BuilderIterator(Node root) {
+                iterator = new PersistentHashMapIterator<>(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                lastReturned = iterator.next();
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException("No values to remove");
+                }
+                Builder.this.remove(lastReturned.getKey());
+                lastReturned = null;
+            }
+        }
+    }
+
+    private static final class Change {
+        private boolean added;
+        private boolean removed;
+        private Object oldValue = NOT_FOUND;
+    }
+
+    private abstract static class Node {
+        final Object owner;
+
+        Node(Object owner) {
+            this.owner = owner;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(Object owner, Object key, Object value, int hash, int shift, Change change);
+
+        abstract Node remove(Object owner, Object key, int hash, int shift, Change change);
+
+        abstract int dataCount();
+
+        abstract Object keyAt(int index);
+
+        abstract Object valueAt(int index);
+
+        abstract int nodeCount();
+
+        abstract Node nodeAt(int index);
+
+        boolean isOwnedBy(Object owner) {
+            return owner != null && this.owner == owner;
+        }
+
+        boolean hasSingleEntry() {
+            return dataCount() == 1 && nodeCount() == 0;
+        }
+
+        <K, V> void forEach(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < dataCount(); i++) {
+                action.accept(unmaskNull(keyAt(i)), PersistentHashMap.<V>valueOrNull(valueAt(i)));
+            }
+            for (int i = 0; i < nodeCount(); i++) {
+                nodeAt(i).forEach(action);
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY_NODE = new BitmapNode(null, 0, 0, new Object[0]);
+
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        private BitmapNode(Object owner, int dataMap, int nodeMap, Object[] content) {
+            super(owner);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object currentKey = content[2 * index];
+                return currentKey == key || currentKey.equals(key) ? content[2 * index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object owner, Object key, Object value, int hash, int shift, Change change) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object currentKey = content[2 * index];
+                Object currentValue = content[2 * index + 1];
+                if (currentKey == key || currentKey.equals(key)) {
+                    change.oldValue = currentValue;
+                    if (currentValue == value) {
+                        return this;
+                    }
+                    return withSlot(owner, 2 * index + 1, value);
+                }
+                change.added = true;
+                Node child = mergeTwo(owner, currentKey, currentValue, getHash(currentKey), key, value, hash, shift + BITS);
+                return migrateDataToNode(owner, bit, index, child);
+            }
+            if ((nodeMap & bit) != 0) {
+                int slot = content.length - 1 - nodeIndex(bit);
+                Node child = (Node) content[slot];
+                Node newChild = child.put(owner, key, value, hash, shift + BITS, change);
+                return newChild == child ? this : withSlot(owner, slot, newChild);
+            }
+            change.added = true;
+            int index = dataIndex(bit);
+            Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, 2 * index);
+            newContent[2 * index] = key;
+            newContent[2 * index + 1] = value;
+            System.arraycopy(content, 2 * index, newContent, 2 * index + 2, content.length - 2 * index);
+            return new BitmapNode(owner, dataMap | bit, nodeMap, newContent);
+        }
+
+        @Override
+        Node remove(Object owner, Object key, int hash, int shift, Change change) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object currentKey = content[2 * index];
+                if (currentKey != key && !currentKey.equals(key)) {
+                    return this;
+                }
+                change.removed = true;
+                change.oldValue = content[2 * index + 1];
+                Object[] newContent = new Object[content.length - 2];
+                System.arraycopy(content, 0, newContent, 0, 2 * index);
+                System.arraycopy(content, 2 * index + 2, newContent, 2 * index, content.length - 2 * index - 2);
+                return new BitmapNode(owner, dataMap ^ bit, nodeMap, newContent);
+            }
+            if ((nodeMap & bit) != 0) {
+                int slot = content.length - 1 - nodeIndex(bit);
+                Node child = (Node) content[slot];
+                Node newChild = child.remove(owner, key, hash, shift + BITS, change);
+                if (!change.removed) {
+                    return this;
+                }
+                if (newChild.hasSingleEntry()) {
+                    return migrateNodeToData(owner, bit, slot, newChild.keyAt(0), newChild.valueAt(0));
+                }
+                return withSlot(owner, slot, newChild);
+            }
+            return this;
+        }
+
+        @Override
+        int dataCount() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        Object keyAt(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        int nodeCount() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node nodeAt(int index) {
+            return (Node) content[content.length - 1 - index];
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private BitmapNode withSlot(Object owner, int slot, Object value) {
+            if (isOwnedBy(owner)) {
+                content[slot] = value;
+                return this;
+            }
+            Object[] newContent = content.clone();
+            newContent[slot] = value;
+            return new BitmapNode(owner, dataMap, nodeMap, newContent);
+        }
+
+        private BitmapNode migrateDataToNode(Object owner, int bit, int dataIndex, Node child) {
+            int oldDataPosition = 2 * dataIndex;
+            int newNodePosition = content.length - 2 - nodeIndex(bit);
+            Object[] newContent = new Object[content.length - 1];
+            System.arraycopy(content, 0, newContent, 0, oldDataPosition);
+            System.arraycopy(content, oldDataPosition + 2, newContent, oldDataPosition, newNodePosition - oldDataPosition);
+            newContent[newNodePosition] = child;
+            System.arraycopy(content, newNodePosition + 2, newContent, newNodePosition + 1,
+                    content.length - newNodePosition - 2);
+            return new BitmapNode(owner, dataMap ^ bit, nodeMap | bit, newContent);
+        }
+
+        private BitmapNode migrateNodeToData(Object owner, int bit, int oldNodePosition, Object key, Object value) {
+            int newDataPosition = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length + 1];
+            System.arraycopy(content, 0, newContent, 0, newDataPosition);
+            newContent[newDataPosition] = key;
+            newContent[newDataPosition + 1] = value;
+            System.arraycopy(content, newDataPosition, newContent, newDataPosition + 2, oldNodePosition - newDataPosition);
+            System.arraycopy(content, oldNodePosition + 1, newContent, oldNodePosition + 2,
+                    content.length - oldNodePosition - 1);
+            return new BitmapNode(owner, dataMap | bit, nodeMap ^ bit, newContent);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] pairs;
+
+        private CollisionNode(Object owner, int hash, Object[] pairs) {
+            super(owner);
+            this.hash = hash;
+            this.pairs = pairs;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : pairs[index + 1];
+        }
+
+        @Override
+        Node put(Object owner, Object key, Object value, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                change.oldValue = pairs[index + 1];
+                if (pairs[index + 1] == value) {
+                    return this;
+                }
+                if (isOwnedBy(owner)) {
+                    pairs[index + 1] = value;
+                    return this;
+                }
+                Object[] newPairs = pairs.clone();
+                newPairs[index + 1] = value;
+                return new CollisionNode(owner, hash, newPairs);
+            }
+            change.added = true;
+            Object[] newPairs = new Object[pairs.length + 2];
+            System.arraycopy(pairs, 0, newPairs, 0, pairs.length);
+            newPairs[pairs.length] = key;
+            newPairs[pairs.length + 1] = value;
+            return new CollisionNode(owner, hash, newPairs);
+        }
+
+        @Override
+        Node remove(Object owner, Object key, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            change.removed = true;
+            change.oldValue = pairs[index + 1];
+            Object[] newPairs = new Object[pairs.length - 2];
+            System.arraycopy(pairs, 0, newPairs, 0, index);
+            System.arraycopy(pairs, index + 2, newPairs, index, pairs.length - index - 2);
+            return new CollisionNode(owner, this.hash, newPairs);
+        }
+
+        @Override
+        int dataCount() {
+            return pairs.length / 2;
+        }
+
+        @Override
+        Object keyAt(int index) {
+            return pairs[2 * index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return pairs[2 * index + 1];
+        }
+
+        @Override
+        int nodeCount() {
+            return 0;
+        }
+
+        @Override
+        Node nodeAt(int index) {
+            throw new IndexOutOfBoundsException("Collision node has no children");
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (Objects.equals(pairs[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class PersistentHashMapIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Node[] nodes = new Node[MAX_DEPTH];
+        private final int[] nodeCursors = new int[MAX_DEPTH];
+        private int depth;
+        private Node dataNode;
+        private int dataCursor;
+
+        private PersistentHashMapIterator(Node root) {
+            nodes[0] = root;
+            dataNode = root;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return dataNode != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (dataNode == null) {
+                throw new NoSuchElementException("No next value found");
+            }
+            Entry<K, V> entry = new PersistentEntry<>(unmaskNull(dataNode.keyAt(dataCursor)),
+                    PersistentHashMap.<V>valueOrNull(dataNode.valueAt(dataCursor)));
+            dataCursor++;
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            while (dataCursor >= dataNode.dataCount()) {
+                while (nodeCursors[depth] >= nodes[depth].nodeCount()) {
+                    if (depth == 0) {
+                        dataNode = null;
+                        return;
+                    }
+                    depth--;
+                }
+                Node child = nodes[depth].nodeAt(nodeCursors[depth]++);
+                depth++;
+                nodes[depth] = child;
+                nodeCursors[depth] = 0;
+                dataNode = child;
+                dataCursor = 0;
+            }
+        }
+    }
+
+    private static final class PersistentEntry<K, V> implements Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private PersistentEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("PersistentHashMap entries are read-only");
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.onoprienko.datastructures.map;
+
+final class PrimitiveHashing {
+    static final double LOAD_FACTOR = 0.75;
+    static final int INITIAL_CAPACITY = 16;
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    private PrimitiveHashing() {
+    }
+
+    static int mix(int key) {
+        int hash = key * INT_PHI;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int mix(long key) {
+        long hash = key * LONG_PHI;
+        hash ^= hash >>> 32;
+        return (int) (hash ^ (hash >>> 16));
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        long required = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        if (required >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    static int thresholdFor(int capacity) {
+        return (int) Math.min(capacity * LOAD_FACTOR, capacity - 1);
+    }
+
+    static int nextCapacity(int capacity) {
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map reached maximum capacity");
+        }
+        return capacity * 2;
+    }
+
+    static boolean shouldShift(int emptied, int home, int current) {
+        return emptied <= current
+                ? emptied >= home || home > current
+                : emptied >= home && home > current;
+    }
+}
@@ -0,0 +1,50 @@
+package com.onoprienko.datastructures.map;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+class ValuesView<K, V> extends AbstractCollection<V> {
+    private final Map<K, V> map;
+
+    ValuesView(Map<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        Iterator<Map.Entry<K, V>> iterator = map.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public V next() {
+                return iterator.next().getValue();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object value) {
+        return map.containsValue((V) value);
+    }
+
+    @Override
+    public void forEach(Consumer<? super V> action) {
+        map.forEachValue(action);
+    }
+}
@@ -4,7 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -543,4 +549,315 @@ public abstract class AbstractListTest {
         //THEN
         assertEquals("[1, null, 2, 3]", list.toString());
     }
-}
\ No newline at end of file
+
+    @DisplayName("test list iterator walks forward and backward")
+    @Test
+    void listIteratorWalksForwardAndBackward() {
+        //GIVEN
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        ListIterator<Integer> iterator = list.listIterator();
+
+        //WHEN
+        assertFalse(iterator.hasPrevious());
+        assertEquals(1, iterator.next());
+        assertEquals(2, iterator.next());
+        assertEquals(3, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        //THEN
+        assertEquals(3, iterator.nextIndex());
+        assertEquals(3, iterator.previous());
+        assertEquals(2, iterator.previous());
+        assertEquals(1, iterator.previous());
+        assertEquals(-1, iterator.previousIndex());
+        assertThrows(NoSuchElementException.class, iterator::previous);
+    }
+
+    @DisplayName("test list iterator rewrites list in a single pass")
+    @Test
+    void listIteratorRewritesListInSinglePass() {
+        //GIVEN
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        ListIterator<Integer> iterator = list.listIterator();
+
+        //WHEN
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+            if (value % 3 == 0) {
+                iterator.remove();
+            } else if (value % 3 == 1) {
+                iterator.set(value * 10);
+            } else {
+                iterator.add(-value);
+            }
+        }
+
+        //THEN
+        assertEquals("[10, 2, -2, 40, 5, -5, 70, 8, -8]", list.toString());
+        assertEquals(9, list.size());
+        assertEquals(8, list.indexOf(-8));
+    }
+
+    @DisplayName("test list iterator remove and add after previous")
+    @Test
+    void listIteratorRemoveAndAddAfterPrevious() {
+        //GIVEN
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        ListIterator<Integer> iterator = list.listIterator(3);
+
+        //WHEN
+        assertEquals(3, iterator.previous());
+        assertEquals(2, iterator.previous());
+        iterator.remove();
+        iterator.add(5);
+        Exception exception = assertThrows(IllegalStateException.class, () -> iterator.set(6));
+
+        //THEN
+        assertEquals("[1, 5, 3]", list.toString());
+        assertEquals(2, iterator.nextIndex());
+        assertEquals(3, iterator.next());
+        assertEquals("No value to set", exception.getMessage());
+    }
+
+    @DisplayName("test list iterator with index bigger size throws exception")
+    @Test
+    void listIteratorWithIndexBiggerSizeThrowsException() {
+        //GIVEN
+        list.add(1);
+
+        //THEN
+        assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(-1));
+    }
+
+    @DisplayName("test remove last value from full array")
+    @Test
+    void removeLastValueFromFullList() {
+        //GIVEN
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        Integer removed = list.remove(9);
+
+        //THEN
+        assertEquals(9, removed);
+        assertEquals(9, list.size());
+        assertEquals(8, list.get(8));
+    }
+
+    @DisplayName("test add all collection at the end and in the middle")
+    @Test
+    void addAllCollectionAtEndAndInMiddle() {
+        //GIVEN
+        list.add(1);
+        list.add(5);
+
+        //WHEN
+        list.addAll(Arrays.asList(6, 7));
+        list.addAll(Arrays.asList(2, 3, 4), 1);
+        list.addAll(java.util.List.of(), 0);
+
+        //THEN
+        assertEquals("[1, 2, 3, 4, 5, 6, 7]", list.toString());
+        assertEquals(7, list.size());
+        assertEquals(6, list.lastIndexOf(7));
+    }
+
+    @DisplayName("test add all array at the beginning of empty list")
+    @Test
+    void addAllArrayAtBeginning() {
+        //WHEN
+        list.addAll(new Integer[]{3, 4});
+        list.addAll(new Integer[]{1, 2}, 0);
+
+        //THEN
+        assertEquals("[1, 2, 3, 4]", list.toString());
+        assertEquals(0, list.indexOf(1));
+    }
+
+    @DisplayName("test add all with index bigger size throws exception")
+    @Test
+    void addAllWithIndexBiggerSizeThrowsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(Arrays.asList(1, 2), 1));
+    }
+
+    @DisplayName("test remove range from head, middle and tail")
+    @Test
+    void removeRangeFromHeadMiddleAndTail() {
+        //GIVEN
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        list.removeRange(8, 10);
+        list.removeRange(3, 5);
+        list.removeRange(0, 1);
+        list.removeRange(2, 2);
+
+        //THEN
+        assertEquals("[1, 2, 5, 6, 7]", list.toString());
+        assertEquals(5, list.size());
+        assertEquals(7, list.get(4));
+        list.add(8);
+        assertEquals(8, list.get(5));
+    }
+
+    @DisplayName("test remove range with wrong bounds throws exception")
+    @Test
+    void removeRangeWithWrongBoundsThrowsException() {
+        //GIVEN
+        list.add(1);
+        list.add(2);
+
+        //THEN
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(-1, 1));
+    }
+
+    @DisplayName("test remove if keeps order of remaining values")
+    @Test
+    void removeIfKeepsOrderOfRemainingValues() {
+        //GIVEN
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+        list.add(null);
+
+        //WHEN
+        boolean removed = list.removeIf(value -> value == null || value % 3 != 0);
+
+        //THEN
+        assertTrue(removed);
+        assertEquals("[0, 3, 6, 9, 12, 15, 18]", list.toString());
+        assertFalse(list.removeIf(value -> value > 100));
+        assertEquals(7, list.size());
+    }
+
+    @DisplayName("test remove if all values clears list")
+    @Test
+    void removeIfAllValuesClearsList() {
+        //GIVEN
+        list.add(1);
+        list.add(2);
+
+        //WHEN
+        list.removeIf(value -> true);
+
+        //THEN
+        assertTrue(list.isEmpty());
+        list.add(3);
+        assertEquals("[3]", list.toString());
+    }
+
+    @DisplayName("test retain all keeps only given values")
+    @Test
+    void retainAllKeepsOnlyGivenValues() {
+        //GIVEN
+        for (int i = 0; i < 6; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        boolean changed = list.retainAll(java.util.Set.of(1, 4, 9));
+
+        //THEN
+        assertTrue(changed);
+        assertEquals("[1, 4]", list.toString());
+    }
+
+    @DisplayName("test stream and parallel stream see every value in order")
+    @Test
+    void streamAndParallelStreamSeeEveryValueInOrder() {
+        //GIVEN
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        long sum = list.stream().mapToLong(Integer::longValue).sum();
+        long parallelSum = list.parallelStream().mapToLong(Integer::longValue).sum();
+        java.util.List<Integer> collected = list.parallelStream().collect(Collectors.toList());
+
+        //THEN
+        assertEquals(12497500, sum);
+        assertEquals(12497500, parallelSum);
+        assertEquals(5000, collected.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, collected.get(i));
+        }
+    }
+
+    @DisplayName("test spliterator is sized and splits")
+    @Test
+    void spliteratorIsSizedAndSplits() {
+        //GIVEN
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        Spliterator<Integer> spliterator = list.spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        //THEN
+        assertEquals(5000, size);
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertNotNull(prefix);
+        assertEquals(5000, prefix.estimateSize() + spliterator.estimateSize());
+        int[] first = new int[1];
+        prefix.tryAdvance(value -> first[0] = value);
+        assertEquals(0, first[0]);
+    }
+
+    @DisplayName("test sort orders values by comparator and keeps equal values stable")
+    @Test
+    void sortOrdersValuesByComparator() {
+        //GIVEN
+        int[] values = {5, 13, 2, 8, 11, 2, 7, 1, 10, 4};
+        for (int value : values) {
+            list.add(value);
+        }
+
+        //WHEN
+        list.sort(Comparator.comparingInt(value -> value % 3));
+
+        //THEN
+        assertEquals("[13, 7, 1, 10, 4, 5, 2, 8, 11, 2]", list.toString());
+        list.sort(null);
+        assertEquals("[1, 2, 2, 4, 5, 7, 8, 10, 11, 13]", list.toString());
+        assertEquals(9, list.indexOf(13));
+        assertEquals(0, list.lastIndexOf(1));
+    }
+
+    @DisplayName("test forEach visits values in order")
+    @Test
+    void forEachVisitsValuesInOrder() {
+        //GIVEN
+        for (int i = 0; i < 50; i++) {
+            list.add(i);
+        }
+        list.remove(10);
+        list.add(null, 5);
+        java.util.List<Integer> visited = new java.util.ArrayList<>();
+
+        //WHEN
+        list.forEach(visited::add);
+
+        //THEN
+        assertEquals(list.size(), visited.size());
+        for (int i = 0; i < visited.size(); i++) {
+            assertEquals(list.get(i), visited.get(i));
+        }
+    }
+}
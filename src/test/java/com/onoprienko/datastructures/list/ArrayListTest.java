@@ -1,8 +1,26 @@
 package com.onoprienko.datastructures.list;
 
+import com.onoprienko.datastructures.codec.Codecs;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ArrayListTest extends AbstractListTest {
     @Override
@@ -35,4 +53,80 @@ public class ArrayListTest extends AbstractListTest {
         //THEN
         assertEquals(30, list.size());
     }
+
+    @DisplayName("test sort above parallel threshold")
+    @Test
+    void sortAboveParallelThreshold() {
+        //GIVEN
+        ArrayList<Integer> list = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 200_000; i++) {
+            list.add(random.nextInt());
+        }
+
+        //WHEN
+        list.sort(Comparator.reverseOrder());
+
+        //THEN
+        for (int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) >= list.get(i));
+        }
+    }
+
+    @DisplayName("test binary search on sorted list")
+    @Test
+    void binarySearchOnSortedList() {
+        //GIVEN
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(i * 2);
+        }
+
+        //THEN
+        assertEquals(7, list.binarySearch(14, Comparator.naturalOrder()));
+        assertEquals(-8, list.binarySearch(13, Comparator.naturalOrder()));
+        assertEquals(-21, list.binarySearch(100, Comparator.naturalOrder()));
+    }
+
+    @DisplayName("test snapshot round trip through a file channel")
+    @Test
+    void snapshotRoundTrip(@TempDir Path directory) throws IOException {
+        //GIVEN
+        ArrayList<String> list = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            list.add(i % 1000 == 0 ? null : "value" + i);
+        }
+        list.add("x".repeat(100_000));
+        Path file = directory.resolve("list.snapshot");
+
+        //WHEN
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            list.writeSnapshot(channel, Codecs.STRING);
+        }
+        ArrayList<String> restored;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            restored = ArrayList.readSnapshot(channel, Codecs.STRING);
+        }
+
+        //THEN
+        assertEquals(list.size(), restored.size());
+        assertNull(restored.get(0));
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i), restored.get(i));
+        }
+    }
+
+    @DisplayName("test snapshot with corrupt element count fails without pre-sizing from it")
+    @Test
+    void corruptElementCountFails() {
+        //GIVEN
+        byte[] huge = ByteBuffer.allocate(8).putInt(0x534E4150).putInt(Integer.MAX_VALUE).array();
+        byte[] negative = ByteBuffer.allocate(8).putInt(0x534E4150).putInt(-1).array();
+
+        //THEN
+        assertThrows(EOFException.class, () -> ArrayList.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(huge)), Codecs.STRING));
+        assertThrows(StreamCorruptedException.class, () -> ArrayList.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(negative)), Codecs.STRING));
+    }
 }
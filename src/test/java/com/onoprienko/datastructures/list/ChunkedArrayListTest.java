@@ -0,0 +1,67 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedArrayListTest extends AbstractListTest {
+    @Override
+    protected List<Integer> getList() {
+        return new ChunkedArrayList<>(4);
+    }
+
+    @DisplayName("test add and remove across chunk boundaries keeps order like java.util.ArrayList")
+    @Test
+    void addAndRemoveAcrossChunkBoundariesKeepOrder() {
+        //GIVEN
+        List<Integer> list = new ChunkedArrayList<>(4);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(7);
+
+        //WHEN
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+
+        //THEN
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @DisplayName("test list grows past many chunks and finds values by index")
+    @Test
+    void listGrowsPastManyChunks() {
+        //GIVEN
+        List<Integer> list = new ChunkedArrayList<>(8);
+
+        //WHEN
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        //THEN
+        assertEquals(1000, list.size());
+        assertEquals(999, list.get(999));
+        assertEquals(513, list.indexOf(513));
+        assertEquals(513, list.lastIndexOf(513));
+    }
+
+    @DisplayName("test chunk size must be a positive power of two")
+    @Test
+    void chunkSizeMustBePositivePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArrayList<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArrayList<>(6));
+    }
+}
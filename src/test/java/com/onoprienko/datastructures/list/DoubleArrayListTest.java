@@ -0,0 +1,138 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleArrayListTest {
+    private final DoubleArrayList list = new DoubleArrayList(2);
+
+    @DisplayName("test add and get values grow list over its capacity")
+    @Test
+    void addAndGetValuesGrowList() {
+        //WHEN
+        for (int i = 0; i < 30; i++) {
+            list.addDouble(i);
+        }
+
+        //THEN
+        assertEquals(30, list.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i, list.getDouble(i), 0);
+        }
+    }
+
+    @DisplayName("test add by index, set and remove work correct")
+    @Test
+    void addByIndexSetAndRemoveWorkCorrect() {
+        //GIVEN
+        list.addDouble(1);
+        list.addDouble(3);
+
+        //WHEN
+        list.addDouble(2, 1);
+        list.addDouble(0, 0);
+        double oldValue = list.setDouble(4, 3);
+        double removed = list.removeDouble(0);
+
+        //THEN
+        assertEquals(3, oldValue, 0);
+        assertEquals(0, removed, 0);
+        assertArrayEquals(new double[]{1, 2, 4}, list.toArray());
+    }
+
+    @DisplayName("test addAll copies requested range of array")
+    @Test
+    void addAllCopiesRange() {
+        //GIVEN
+        list.addDouble(9);
+
+        //WHEN
+        list.addAll(new double[]{1, 2, 3, 4, 5}, 1, 3);
+
+        //THEN
+        assertArrayEquals(new double[]{9, 2, 3, 4}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new double[]{1, 2}, 1, 2));
+    }
+
+    @DisplayName("test indexOf, lastIndexOf and contains work correct")
+    @Test
+    void indexOfAndContainsWorkCorrect() {
+        //GIVEN
+        list.addAll(new double[]{5, 6, 5, 7}, 0, 4);
+
+        //THEN
+        assertEquals(0, list.indexOf(5));
+        assertEquals(2, list.lastIndexOf(5));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(8));
+        assertEquals(-1, list.indexOf(8));
+    }
+
+    @DisplayName("test forEachDouble visits values in order")
+    @Test
+    void forEachVisitsValuesInOrder() {
+        //GIVEN
+        list.addAll(new double[]{1, 2, 3}, 0, 3);
+        StringBuilder visited = new StringBuilder();
+
+        //WHEN
+        list.forEachDouble(visited::append);
+
+        //THEN
+        assertEquals("1.02.03.0", visited.toString());
+    }
+
+    @DisplayName("test get with invalid index throws exception")
+    @Test
+    void getWithInvalidIndexThrowsException() {
+        //GIVEN
+        list.addDouble(1);
+
+        //WHEN
+        Exception exception = assertThrows(IndexOutOfBoundsException.class, () -> list.getDouble(1));
+
+        //THEN
+        assertEquals("Index must be between 0 and 1", exception.getMessage());
+    }
+
+    @DisplayName("test clear and toString")
+    @Test
+    void clearAndToStringWorkCorrect() {
+        //GIVEN
+        list.addDouble(1);
+        list.addDouble(2);
+        assertEquals("[1.0, 2.0]", list.toString());
+
+        //WHEN
+        list.clear();
+
+        //THEN
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+    }
+
+    @DisplayName("test sort orders values like Arrays.sort")
+    @Test
+    void sortOrdersValuesLikeArraysSort() {
+        //GIVEN
+        Random random = new Random(2);
+        double[] special = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -Double.MIN_VALUE};
+        double[] expected = new double[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i < special.length ? special[i] : random.nextGaussian() * 1e6;
+            list.addDouble(expected[i]);
+        }
+
+        //WHEN
+        list.sort();
+        Arrays.sort(expected);
+
+        //THEN
+        assertArrayEquals(expected, list.toArray());
+    }
+}
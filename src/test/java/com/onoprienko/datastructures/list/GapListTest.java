@@ -0,0 +1,64 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GapListTest extends AbstractListTest {
+    @Override
+    protected List<Integer> getList() {
+        return new GapList<>();
+    }
+
+    @DisplayName("test random edits keep order like java.util.ArrayList")
+    @Test
+    void randomEditsKeepOrder() {
+        //GIVEN
+        List<Integer> list = new GapList<>(1);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(11);
+
+        //WHEN
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+
+        //THEN
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertEquals(expected.indexOf(1500), list.indexOf(1500));
+        assertEquals(expected.lastIndexOf(1500), list.lastIndexOf(1500));
+    }
+
+    @DisplayName("test edits around a cursor like a text buffer")
+    @Test
+    void editsAroundCursor() {
+        //GIVEN
+        List<Integer> list = new GapList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        list.add(100, 5);
+        list.add(101, 6);
+        list.remove(6);
+        list.remove(5);
+        list.remove(4);
+
+        //THEN
+        assertEquals("[0, 1, 2, 3, 5, 6, 7, 8, 9]", list.toString());
+    }
+}
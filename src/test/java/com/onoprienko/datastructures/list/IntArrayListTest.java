@@ -0,0 +1,137 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntArrayListTest {
+    private final IntArrayList list = new IntArrayList(2);
+
+    @DisplayName("test add and get values grow list over its capacity")
+    @Test
+    void addAndGetValuesGrowList() {
+        //WHEN
+        for (int i = 0; i < 30; i++) {
+            list.addInt(i);
+        }
+
+        //THEN
+        assertEquals(30, list.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i, list.getInt(i));
+        }
+    }
+
+    @DisplayName("test add by index, set and remove work correct")
+    @Test
+    void addByIndexSetAndRemoveWorkCorrect() {
+        //GIVEN
+        list.addInt(1);
+        list.addInt(3);
+
+        //WHEN
+        list.addInt(2, 1);
+        list.addInt(0, 0);
+        int oldValue = list.setInt(4, 3);
+        int removed = list.removeInt(0);
+
+        //THEN
+        assertEquals(3, oldValue);
+        assertEquals(0, removed);
+        assertArrayEquals(new int[]{1, 2, 4}, list.toArray());
+    }
+
+    @DisplayName("test addAll copies requested range of array")
+    @Test
+    void addAllCopiesRange() {
+        //GIVEN
+        list.addInt(9);
+
+        //WHEN
+        list.addAll(new int[]{1, 2, 3, 4, 5}, 1, 3);
+
+        //THEN
+        assertArrayEquals(new int[]{9, 2, 3, 4}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new int[]{1, 2}, 1, 2));
+    }
+
+    @DisplayName("test indexOf, lastIndexOf and contains work correct")
+    @Test
+    void indexOfAndContainsWorkCorrect() {
+        //GIVEN
+        list.addAll(new int[]{5, 6, 5, 7}, 0, 4);
+
+        //THEN
+        assertEquals(0, list.indexOf(5));
+        assertEquals(2, list.lastIndexOf(5));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(8));
+        assertEquals(-1, list.indexOf(8));
+    }
+
+    @DisplayName("test forEachInt visits values in order")
+    @Test
+    void forEachVisitsValuesInOrder() {
+        //GIVEN
+        list.addAll(new int[]{1, 2, 3}, 0, 3);
+        StringBuilder visited = new StringBuilder();
+
+        //WHEN
+        list.forEachInt(visited::append);
+
+        //THEN
+        assertEquals("123", visited.toString());
+    }
+
+    @DisplayName("test get with invalid index throws exception")
+    @Test
+    void getWithInvalidIndexThrowsException() {
+        //GIVEN
+        list.addInt(1);
+
+        //WHEN
+        Exception exception = assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(1));
+
+        //THEN
+        assertEquals("Index must be between 0 and 1", exception.getMessage());
+    }
+
+    @DisplayName("test clear and toString")
+    @Test
+    void clearAndToStringWorkCorrect() {
+        //GIVEN
+        list.addInt(1);
+        list.addInt(2);
+        assertEquals("[1, 2]", list.toString());
+
+        //WHEN
+        list.clear();
+
+        //THEN
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+    }
+
+    @DisplayName("test sort orders values like Arrays.sort")
+    @Test
+    void sortOrdersValuesLikeArraysSort() {
+        //GIVEN
+        Random random = new Random(2);
+        int[] expected = new int[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i % 10 == 0 ? (i % 20 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE) : random.nextInt();
+            list.addInt(expected[i]);
+        }
+
+        //WHEN
+        list.sort();
+        Arrays.sort(expected);
+
+        //THEN
+        assertArrayEquals(expected, list.toArray());
+    }
+}
@@ -1,8 +1,128 @@
 package com.onoprienko.datastructures.list;
 
+import com.onoprienko.datastructures.codec.Codecs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class LinkedListTest extends AbstractListTest {
     @Override
     protected List<Integer> getList() {
         return new LinkedList<>();
     }
-}
\ No newline at end of file
+
+    @DisplayName("test positional access near the last position keeps order like java.util.ArrayList")
+    @Test
+    void positionalAccessNearLastPositionKeepsOrder() {
+        //GIVEN
+        List<Integer> list = new LinkedList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(3);
+        int cursor = 0;
+
+        //WHEN
+        for (int i = 0; i < 3000; i++) {
+            cursor = Math.max(0, Math.min(expected.size(), cursor + random.nextInt(5) - 2));
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                list.add(i, cursor);
+                expected.add(cursor, i);
+            } else if (cursor == expected.size()) {
+                cursor--;
+            } else if (operation == 1) {
+                assertEquals(expected.remove(cursor), list.remove(cursor));
+            } else if (operation == 2) {
+                assertEquals(expected.set(cursor, -i), list.set(-i, cursor));
+            } else {
+                assertEquals(expected.get(cursor), list.get(cursor));
+            }
+        }
+
+        //THEN
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @DisplayName("test iterator remove deletes last returned value")
+    @Test
+    void iteratorRemoveDeletesLastReturnedValue() {
+        //GIVEN
+        List<Integer> list = new LinkedList<>();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        Iterator<Integer> iterator = list.iterator();
+
+        //WHEN
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+
+        //THEN
+        assertEquals("[1, 3]", list.toString());
+        assertEquals(3, list.get(1));
+        assertEquals(1, list.indexOf(3));
+    }
+
+    @DisplayName("test sort relinks nodes in both directions")
+    @Test
+    void sortRelinksNodesInBothDirections() {
+        //GIVEN
+        LinkedList<Integer> list = new LinkedList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(9);
+        for (int i = 0; i < 1001; i++) {
+            int value = random.nextInt(500);
+            list.add(value);
+            expected.add(value);
+        }
+
+        //WHEN
+        list.sort(Comparator.naturalOrder());
+        expected.sort(Comparator.naturalOrder());
+
+        //THEN
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        list.add(-1, 0);
+        list.add(1000);
+        assertEquals(-1, list.get(0));
+        assertEquals(1000, list.get(1002));
+    }
+
+    @DisplayName("test snapshot round trip through a stream channel")
+    @Test
+    void snapshotRoundTrip() throws IOException {
+        //GIVEN
+        LinkedList<Long> list = new LinkedList<>();
+        for (long i = 0; i < 1000; i++) {
+            list.add(i * i);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //WHEN
+        list.writeSnapshot(Channels.newChannel(output), Codecs.LONG);
+        LinkedList<Long> restored = LinkedList.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Codecs.LONG);
+
+        //THEN
+        assertEquals(1000, restored.size());
+        assertEquals(998001L, restored.get(999));
+        assertEquals(4L, restored.get(2));
+    }
+}
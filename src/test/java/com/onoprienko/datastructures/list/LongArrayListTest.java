@@ -0,0 +1,137 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongArrayListTest {
+    private final LongArrayList list = new LongArrayList(2);
+
+    @DisplayName("test add and get values grow list over its capacity")
+    @Test
+    void addAndGetValuesGrowList() {
+        //WHEN
+        for (int i = 0; i < 30; i++) {
+            list.addLong(i);
+        }
+
+        //THEN
+        assertEquals(30, list.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i, list.getLong(i));
+        }
+    }
+
+    @DisplayName("test add by index, set and remove work correct")
+    @Test
+    void addByIndexSetAndRemoveWorkCorrect() {
+        //GIVEN
+        list.addLong(1);
+        list.addLong(3);
+
+        //WHEN
+        list.addLong(2, 1);
+        list.addLong(0, 0);
+        long oldValue = list.setLong(4, 3);
+        long removed = list.removeLong(0);
+
+        //THEN
+        assertEquals(3, oldValue);
+        assertEquals(0, removed);
+        assertArrayEquals(new long[]{1, 2, 4}, list.toArray());
+    }
+
+    @DisplayName("test addAll copies requested range of array")
+    @Test
+    void addAllCopiesRange() {
+        //GIVEN
+        list.addLong(9);
+
+        //WHEN
+        list.addAll(new long[]{1, 2, 3, 4, 5}, 1, 3);
+
+        //THEN
+        assertArrayEquals(new long[]{9, 2, 3, 4}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new long[]{1, 2}, 1, 2));
+    }
+
+    @DisplayName("test indexOf, lastIndexOf and contains work correct")
+    @Test
+    void indexOfAndContainsWorkCorrect() {
+        //GIVEN
+        list.addAll(new long[]{5, 6, 5, 7}, 0, 4);
+
+        //THEN
+        assertEquals(0, list.indexOf(5));
+        assertEquals(2, list.lastIndexOf(5));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(8));
+        assertEquals(-1, list.indexOf(8));
+    }
+
+    @DisplayName("test forEachLong visits values in order")
+    @Test
+    void forEachVisitsValuesInOrder() {
+        //GIVEN
+        list.addAll(new long[]{1, 2, 3}, 0, 3);
+        StringBuilder visited = new StringBuilder();
+
+        //WHEN
+        list.forEachLong(visited::append);
+
+        //THEN
+        assertEquals("123", visited.toString());
+    }
+
+    @DisplayName("test get with invalid index throws exception")
+    @Test
+    void getWithInvalidIndexThrowsException() {
+        //GIVEN
+        list.addLong(1);
+
+        //WHEN
+        Exception exception = assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(1));
+
+        //THEN
+        assertEquals("Index must be between 0 and 1", exception.getMessage());
+    }
+
+    @DisplayName("test clear and toString")
+    @Test
+    void clearAndToStringWorkCorrect() {
+        //GIVEN
+        list.addLong(1);
+        list.addLong(2);
+        assertEquals("[1, 2]", list.toString());
+
+        //WHEN
+        list.clear();
+
+        //THEN
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+    }
+
+    @DisplayName("test sort orders values like Arrays.sort")
+    @Test
+    void sortOrdersValuesLikeArraysSort() {
+        //GIVEN
+        Random random = new Random(2);
+        long[] expected = new long[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i % 10 == 0 ? (i % 20 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE) : random.nextLong();
+            list.addLong(expected[i]);
+        }
+
+        //WHEN
+        list.sort();
+        Arrays.sort(expected);
+
+        //THEN
+        assertArrayEquals(expected, list.toArray());
+    }
+}
@@ -0,0 +1,101 @@
+package com.onoprienko.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnrolledLinkedListTest extends AbstractListTest {
+    @Override
+    protected List<Integer> getList() {
+        return new UnrolledLinkedList<>(4);
+    }
+
+    @DisplayName("test random edits split and merge nodes and keep order like java.util.ArrayList")
+    @Test
+    void randomEditsKeepOrder() {
+        //GIVEN
+        List<Integer> list = new UnrolledLinkedList<>(4);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(5);
+
+        //WHEN
+        for (int i = 0; i < 3000; i++) {
+            if (expected.isEmpty() || random.nextInt(5) > 1) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+
+        //THEN
+        assertEquals(expected.size(), list.size());
+        int index = 0;
+        for (Integer value : list) {
+            assertEquals(expected.get(index), value);
+            assertEquals(expected.get(index), list.get(index));
+            index++;
+        }
+        assertEquals(expected.size(), index);
+        assertEquals(expected.indexOf(2000), list.indexOf(2000));
+        assertEquals(expected.lastIndexOf(2000), list.lastIndexOf(2000));
+    }
+
+    @DisplayName("test iterator removes every other value across nodes")
+    @Test
+    void iteratorRemovesEveryOtherValue() {
+        //GIVEN
+        List<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 50; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        //THEN
+        assertEquals(25, list.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(2 * i + 1, list.get(i));
+        }
+    }
+
+    @DisplayName("test iterator removes all values")
+    @Test
+    void iteratorRemovesAllValues() {
+        //GIVEN
+        List<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 30; i++) {
+            list.add(i);
+        }
+
+        //WHEN
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        //THEN
+        assertTrue(list.isEmpty());
+        list.add(1);
+        assertEquals("[1]", list.toString());
+    }
+
+    @DisplayName("test node capacity too small throws exception")
+    @Test
+    void nodeCapacityTooSmallThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedList<>(3));
+    }
+}
@@ -0,0 +1,728 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public abstract class AbstractMapTest {
+    private Map<String, String> map;
+
+    @BeforeEach
+    public void before() {
+        map = getMap();
+    }
+
+    protected abstract Map<String, String> getMap();
+
+    @DisplayName("test put and get values from map")
+    @Test
+    void putAndGetValuesFromMapWorkCorrect() {
+        //WHEN
+        map.put("A", "A");
+        map.put("B", "B");
+        map.put("C", "D");
+
+        //THEN
+        assertEquals(3, map.size());
+        assertEquals("A", map.get("A"));
+        assertEquals("B", map.get("B"));
+        assertEquals("D", map.get("C"));
+    }
+
+    @DisplayName("test put value with same key will rewrite it")
+    @Test
+    void putValueWithSameKeyWillRewriteIt() {
+        //WHEN
+        map.put("A", "A");
+        map.put("B", "B");
+        map.put("A", "D");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("D", map.get("A"));
+        assertEquals("B", map.get("B"));
+    }
+
+    @DisplayName("test get value with key that not exist will return null")
+    @Test
+    void getValueWithKeyThatNotInMapReturnsNull() {
+        //WHEN
+        map.put("A", "A");
+        map.put("B", "B");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("A", map.get("A"));
+        assertEquals("B", map.get("B"));
+        assertNull(map.get("L"));
+    }
+
+    @DisplayName("test put and get null values from map work correct")
+    @Test
+    void putAndGetNullValuesWorkCorrect() {
+        //WHEN
+        map.put(null, "A");
+        map.put("B", null);
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("A", map.get(null));
+        assertNull(map.get("B"));
+    }
+
+    @DisplayName("test put with same key will return old value")
+    @Test
+    void putWithSameKeyReturnOldValue() {
+        //WHEN
+        map.put("B", "A");
+        String oldValue = map.put("B", "D");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertEquals("D", map.get("B"));
+        assertEquals("A", oldValue);
+    }
+
+    @DisplayName("test put with new key will return null")
+    @Test
+    void putWithNewKeyReturnNull() {
+        //WHEN
+        map.put("B", "A");
+        String oldValue = map.put("C", "D");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("A", map.get("B"));
+        assertEquals("D", map.get("C"));
+        assertNull(oldValue);
+    }
+
+    @DisplayName("test put with null as key twice will rewrite value")
+    @Test
+    void putWithNullKeyTwiceWillRewriteValue() {
+        //WHEN
+        map.put(null, "A");
+        map.put(null, "K");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertEquals("K", map.get(null));
+    }
+
+    @DisplayName("test put over initial capacity(16) will increase its capacity")
+    @Test
+    void putOverInitialCapacityWillIncreaseItsCapacity() {
+        //WHEN
+        for (int i = 0; i < 10100; i++) {
+            map.put(String.valueOf(i), String.valueOf(i));
+        }
+
+        //THEN
+        for (int i = 0; i < 10100; i++) {
+            assertEquals(String.valueOf(i), map.get(String.valueOf(i)));
+        }
+        assertEquals(10100, map.size());
+    }
+
+    @DisplayName("test put values with keys 'null' and '0' will not rewrite each  other")
+    @Test
+    void putValueWithKeysNullAndZeroWillNotRewriteEachOther() {
+        //WHEN
+        map.put(null, "A");
+        assertEquals("A", map.get(null));
+        map.put(String.valueOf(0), "B");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("B", map.get("0"));
+        assertEquals("A", map.get(null));
+    }
+
+    @DisplayName("test get size when add null value with null key will return one")
+    @Test
+    void getSizeWhenPutNullValueWillReturnOne() {
+        //WHEN
+        map.put(null, null);
+
+        //THEN
+        assertEquals(1, map.size());
+        assertNull(map.get(null));
+    }
+
+    @DisplayName("test contains key will return true")
+    @Test
+    void containsKeyWorkCorrect() {
+        //WHEN
+        map.put("A", "B");
+        map.put("C", "D");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("A"));
+        assertTrue(map.containsKey("C"));
+    }
+
+    @DisplayName("test contains key will return false if key not exist")
+    @Test
+    void containsKeyReturnFalse() {
+        //WHEN
+        map.put("A", "B");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey("B"));
+        assertFalse(map.containsKey("L"));
+        assertFalse(map.containsKey(null));
+    }
+
+    @DisplayName("test contains key will return false on empty map")
+    @Test
+    void containsKeyReturnFalseOnEmptyMap() {
+        //WHEN
+        boolean contains = map.containsKey(null);
+
+        //THEN
+        assertEquals(0, map.size());
+        assertFalse(contains);
+    }
+
+    @DisplayName("test contains key will return true if key is null")
+    @Test
+    void containsKeyReturnTrueWithNullValue() {
+        //WHEN
+        map.put(null, "B");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(null));
+    }
+
+    @DisplayName("test remove value by key will return removed value and decrease size")
+    @Test
+    void removeOneValueReturnRemovedValueAndWorkCorrect() {
+        //GIVEN
+        map.put("A", "AB");
+        map.put("B", "BC");
+        map.put("C", "CD");
+
+        //WHEN
+        String removed = map.remove("B");
+
+        //THEN
+        assertEquals(2, map.size());
+        assertEquals("BC", removed);
+        assertEquals("AB", map.get("A"));
+        assertEquals("CD", map.get("C"));
+    }
+
+    @DisplayName("test remove already removed value return null")
+    @Test
+    void removeAlreadyRemovedValueReturnNull() {
+        //GIVEN
+        map.put("B", "BC");
+
+        //WHEN
+        String removedB = map.remove("B");
+        String removedNull = map.remove("B");
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("BC", removedB);
+        assertNull(removedNull);
+    }
+
+    @DisplayName("test remove all values by key will return removed values and clear map")
+    @Test
+    void removeAllValuesReturnRemovedValuesAndClearMap() {
+        //GIVEN
+        map.put("A", "AB");
+        map.put("B", "BC");
+        map.put("C", "CD");
+
+        //WHEN
+        String removedA = map.remove("A");
+        String removedB = map.remove("B");
+        String removedC = map.remove("C");
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("AB", removedA);
+        assertEquals("BC", removedB);
+        assertEquals("CD", removedC);
+    }
+
+    @DisplayName("test remove value with key 'null' work correct")
+    @Test
+    void removeNullWorkCorrect() {
+        //GIVEN
+        map.put(null, "AB");
+
+        //WHEN
+        String removedA = map.remove(null);
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("AB", removedA);
+    }
+
+    @DisplayName("test remove value with non exist key return null")
+    @Test
+    void removeNonExistValueReturnNull() {
+        //GIVEN
+        map.put(null, "AB");
+
+        //WHEN
+        String removedA = map.remove("D");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertNull(removedA);
+    }
+
+    @DisplayName("test contains return false on removed value")
+    @Test
+    void containsReturnFalseOnDeletedValue() {
+        //GIVEN
+        map.put("A", "AB");
+
+        //WHEN
+        String removedA = map.remove("A");
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("AB", removedA);
+        assertFalse(map.containsKey("A"));
+    }
+
+    @DisplayName("test iterator remove element change size of map")
+    @Test
+    public void testIteratorRemoveOneValue() {
+        //GIVEN
+        map.put("A", "A");
+        map.put(null, "B");
+        map.put("0", "C");
+        map.put("D", "D");
+        Iterator<Entry<String, String>> iterator = map.iterator();
+
+        //WHEN
+        assertEquals(4, map.size());
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.remove();
+
+        //THEN
+        assertEquals(3, map.size());
+
+    }
+
+    @DisplayName("test iterator remove element change size of map")
+    @Test
+    public void testIteratorRemoveAllValues() {
+        //GIVEN
+        map.put("A", "A");
+        map.put("0", "C");
+        map.put("D", "D");
+        assertEquals(3, map.size());
+        Iterator<Entry<String, String>> iterator = map.iterator();
+
+        //WHEN
+        for (int i = 0; i < 3; i++) {
+            assertTrue(iterator.hasNext());
+            iterator.next();
+            iterator.remove();
+        }
+        //THEN
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey("A"));
+        assertFalse(map.containsKey("0"));
+        assertFalse(map.containsKey("C"));
+        assertFalse(iterator.hasNext());
+
+    }
+
+    @DisplayName("test iterator hasNext return false and next return exception on empty map")
+    @Test
+    public void testIteratorHasNextReturnFalseAndNextReturnException() {
+        //GIVEN
+        map.put("A", "A");
+        assertEquals(1, map.size());
+        Iterator<Entry<String, String>> iterator = map.iterator();
+
+        //WHEN
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.remove();
+        assertFalse(iterator.hasNext());
+        assertThrows(IllegalStateException.class, iterator::remove);
+
+        //THEN
+        assertEquals(0, map.size());
+        assertFalse(iterator.hasNext());
+    }
+
+    @DisplayName("test iterator remove return exception when try remove twice")
+    @Test
+    public void testIteratorRemoveThrowExceptionWhenTryRemoveTwice() {
+        //GIVEN
+        map.put("A", "A");
+        Iterator<Entry<String, String>> iterator = map.iterator();
+
+        //WHEN
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.remove();
+        Exception exception = assertThrows(IllegalStateException.class, iterator::remove);
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("No values to remove", exception.getMessage());
+        assertFalse(iterator.hasNext());
+
+    }
+
+    @DisplayName("test iterator remove throw exception when try remove on empty map")
+    @Test
+    public void testIteratorRemoveThrowExceptionWhenTryRemoveOnEmptyMap() {
+        //GIVEN
+        assertEquals(0, map.size());
+        Iterator<Entry<String, String>> iterator = map.iterator();
+
+        //WHEN
+        Exception exceptionNext = assertThrows(NoSuchElementException.class, iterator::next);
+        Exception exceptionRemove = assertThrows(IllegalStateException.class, iterator::remove);
+
+        //THEN
+        assertEquals(0, map.size());
+        assertEquals("No next value found", exceptionNext.getMessage());
+        assertEquals("No values to remove", exceptionRemove.getMessage());
+        assertFalse(iterator.hasNext());
+
+    }
+
+    @DisplayName("test put 3 entries in the same cell will return size 3")
+    @Test
+    public void testPutInSameCellThreeEntriesWillReturnCorrectSize() {
+        //WHEN
+        map.put("0", "A");
+        map.put(null, "B");
+        map.put(" ", "C");
+
+        //THEN
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("0"));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsKey(" "));
+
+    }
+
+    @DisplayName("test put 3 entries in the same cell and remove last entry work correct")
+    @Test
+    public void testPutInSameCellThreeEntriesAndRemoveFirst() {
+        //GIVEN
+        map.put("0", "A");
+        map.put(null, "B");
+        map.put(" ", "C");
+
+        //WHEN
+        assertEquals("A", map.remove("0"));
+
+        //THEN
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("0"));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsKey(" "));
+
+    }
+
+    @DisplayName("test put 3 entries in the same cell and remove second entry work correct")
+    @Test
+    public void testPutInSameCellThreeEntriesAndRemoveSecond() {
+        //GIVEN
+        map.put("0", "A");
+        map.put(null, "B");
+        map.put(" ", "C");
+
+        //WHEN
+        assertEquals("B", map.remove(null));
+
+        //THEN
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("0"));
+        assertFalse(map.containsKey(null));
+        assertTrue(map.containsKey(" "));
+    }
+
+    @DisplayName("test put 3 entries in the same cell and remove last entry work correct")
+    @Test
+    public void testPutInSameCellThreeEntriesAndRemoveLast() {
+        //GIVEN
+        map.put("0", "A");
+        map.put(null, "B");
+        map.put(" ", "C");
+
+        //WHEN
+        assertEquals("C", map.remove(" "));
+
+        //THEN
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("0"));
+        assertTrue(map.containsKey(null));
+        assertFalse(map.containsKey(" "));
+    }
+
+    @DisplayName("test stream and parallel stream see every entry once")
+    @Test
+    void streamAndParallelStreamSeeEveryEntryOnce() {
+        //GIVEN
+        for (int i = 0; i < 3000; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        //WHEN
+        Set<String> keys = map.parallelStream().map(Entry::getKey).collect(Collectors.toSet());
+        long count = map.stream().count();
+
+        //THEN
+        assertEquals(3000, keys.size());
+        assertEquals(3000, count);
+        assertTrue(keys.contains("key2999"));
+    }
+
+    @DisplayName("test forEach, forEachKey and forEachValue visit every entry once")
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        //GIVEN
+        for (int i = 0; i < 200; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        map.put(null, "nullValue");
+        map.remove("key7");
+        java.util.Map<String, String> visited = new java.util.HashMap<>();
+        Set<String> keys = new HashSet<>();
+        Set<String> values = new HashSet<>();
+
+        //WHEN
+        map.forEach(visited::put);
+        map.forEachKey(keys::add);
+        map.forEachValue(values::add);
+
+        //THEN
+        assertEquals(200, visited.size());
+        assertEquals("nullValue", visited.get(null));
+        assertEquals("value199", visited.get("key199"));
+        assertFalse(visited.containsKey("key7"));
+        assertEquals(visited.keySet(), keys);
+        assertEquals(new HashSet<>(visited.values()), values);
+    }
+
+    @DisplayName("test getOrDefault returns stored value or default")
+    @Test
+    void getOrDefaultReturnsStoredValueOrDefault() {
+        //GIVEN
+        map.put("A", "B");
+        map.put(null, "C");
+
+        //THEN
+        assertEquals("B", map.getOrDefault("A", "D"));
+        assertEquals("C", map.getOrDefault(null, "D"));
+        assertEquals("D", map.getOrDefault("E", "D"));
+    }
+
+    @DisplayName("test putIfAbsent keeps existing value")
+    @Test
+    void putIfAbsentKeepsExistingValue() {
+        //WHEN
+        String first = map.putIfAbsent("A", "B");
+        String second = map.putIfAbsent("A", "C");
+
+        //THEN
+        assertNull(first);
+        assertEquals("B", second);
+        assertEquals("B", map.get("A"));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("test computeIfAbsent calls function only for missing key")
+    @Test
+    void computeIfAbsentCallsFunctionOnlyForMissingKey() {
+        //GIVEN
+        map.put("A", "B");
+        int[] calls = new int[1];
+
+        //WHEN
+        String existing = map.computeIfAbsent("A", key -> {
+            calls[0]++;
+            return "C";
+        });
+        String created = map.computeIfAbsent("D", key -> key + "E");
+        String notCreated = map.computeIfAbsent("F", key -> null);
+
+        //THEN
+        assertEquals("B", existing);
+        assertEquals(0, calls[0]);
+        assertEquals("DE", created);
+        assertNull(notCreated);
+        assertFalse(map.containsKey("F"));
+        assertEquals(2, map.size());
+    }
+
+    @DisplayName("test computeIfPresent updates or removes existing key")
+    @Test
+    void computeIfPresentUpdatesOrRemovesExistingKey() {
+        //GIVEN
+        map.put("A", "B");
+        map.put("C", "D");
+
+        //WHEN
+        String updated = map.computeIfPresent("A", (key, value) -> key + value);
+        String removed = map.computeIfPresent("C", (key, value) -> null);
+        String missing = map.computeIfPresent("E", (key, value) -> "F");
+
+        //THEN
+        assertEquals("AB", updated);
+        assertNull(removed);
+        assertNull(missing);
+        assertEquals("AB", map.get("A"));
+        assertFalse(map.containsKey("C"));
+        assertFalse(map.containsKey("E"));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("test compute inserts, updates and removes")
+    @Test
+    void computeInsertsUpdatesAndRemoves() {
+        //WHEN
+        map.compute("A", (key, value) -> value == null ? "1" : value + "1");
+        map.compute("A", (key, value) -> value == null ? "1" : value + "1");
+        map.compute("B", (key, value) -> "2");
+        map.compute("B", (key, value) -> null);
+
+        //THEN
+        assertEquals("11", map.get("A"));
+        assertFalse(map.containsKey("B"));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("test merge counts words")
+    @Test
+    void mergeCountsWords() {
+        //GIVEN
+        String[] words = "a b a c b a".split(" ");
+
+        //WHEN
+        for (String word : words) {
+            map.merge(word, "1", (oldValue, value) -> String.valueOf(Integer.parseInt(oldValue) + 1));
+        }
+        map.merge("c", "1", (oldValue, value) -> null);
+
+        //THEN
+        assertEquals("3", map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertFalse(map.containsKey("c"));
+        assertEquals(2, map.size());
+        assertThrows(NullPointerException.class, () -> map.merge("a", null, (oldValue, value) -> value));
+    }
+
+    @DisplayName("test compute methods keep working while map grows")
+    @Test
+    void computeMethodsKeepWorkingWhileMapGrows() {
+        //WHEN
+        for (int i = 0; i < 2000; i++) {
+            map.computeIfAbsent("key" + (i % 700), key -> "0");
+            map.merge("key" + (i % 700), "1", (oldValue, value) -> String.valueOf(Integer.parseInt(oldValue) + 1));
+        }
+
+        //THEN
+        assertEquals(700, map.size());
+        assertEquals("3", map.get("key0"));
+        assertEquals("2", map.get("key699"));
+    }
+
+    @DisplayName("test isEmpty and containsValue")
+    @Test
+    void isEmptyAndContainsValue() {
+        //GIVEN
+        assertTrue(map.isEmpty());
+
+        //WHEN
+        map.put("A", "1");
+        map.put("B", null);
+
+        //THEN
+        assertFalse(map.isEmpty());
+        assertTrue(map.containsValue("1"));
+        assertTrue(map.containsValue(null));
+        assertFalse(map.containsValue("2"));
+    }
+
+    @DisplayName("test key, value and entry views reflect the map")
+    @Test
+    void viewsReflectMap() {
+        //GIVEN
+        Set<String> keys = map.keySet();
+        map.put("A", "1");
+        map.put("B", "2");
+        map.put("C", "3");
+
+        //THEN
+        assertEquals(3, keys.size());
+        assertEquals(Set.of("A", "B", "C"), new HashSet<>(keys));
+        assertEquals(Set.of("1", "2", "3"), new HashSet<>(map.values()));
+        assertEquals(3, map.entrySet().size());
+        assertTrue(keys.contains("B"));
+        assertFalse(keys.contains("D"));
+        assertTrue(map.values().contains("3"));
+        assertFalse(map.values().contains("4"));
+
+        //WHEN
+        map.put("D", "4");
+
+        //THEN
+        assertEquals(4, keys.size());
+        assertTrue(keys.contains("D"));
+    }
+
+    @DisplayName("test removing through views removes from map")
+    @Test
+    void removingThroughViewsRemovesFromMap() {
+        //GIVEN
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        //WHEN
+        assertTrue(map.keySet().remove("key0"));
+        assertFalse(map.keySet().remove("missing"));
+        map.values().removeIf(value -> value.endsWith("1"));
+        Iterator<Entry<String, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey().endsWith("2")) {
+                iterator.remove();
+            }
+        }
+
+        //THEN
+        assertEquals(79, map.size());
+        assertEquals(79, map.keySet().size());
+        assertFalse(map.containsKey("key0"));
+        assertFalse(map.containsKey("key21"));
+        assertFalse(map.containsKey("key42"));
+        assertTrue(map.containsKey("key43"));
+
+        //WHEN
+        map.keySet().clear();
+
+        //THEN
+        assertTrue(map.isEmpty());
+    }
+}
@@ -0,0 +1,251 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.ConcurrentHashMap;
+import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHashMapTest extends AbstractMapTest {
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 20000;
+
+    @Override
+    protected Map<String, String> getMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @DisplayName("test concurrent puts from many threads are all visible after resizes")
+    @Test
+    void concurrentPutsAreAllVisible() throws Exception {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //WHEN
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread * KEYS_PER_THREAD;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i++) {
+                    map.put(i, i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        //THEN
+        assertEquals(THREADS * KEYS_PER_THREAD, map.size());
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @DisplayName("test readers always see keys that were put before they started while table grows")
+    @Test
+    void readersSeeExistingKeysDuringResize() throws Exception {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //WHEN
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 1000; i < 200000; i++) {
+                map.put(i, i);
+            }
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int thread = 1; thread < THREADS; thread++) {
+            readers.add(executor.submit(() -> {
+                while (!writer.isDone()) {
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, map.get(i));
+                    }
+                }
+            }));
+        }
+        writer.get();
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        //THEN
+        assertEquals(200000, map.size());
+    }
+
+    @DisplayName("test concurrent removes leave only untouched keys")
+    @Test
+    void concurrentRemovesLeaveOnlyUntouchedKeys() throws Exception {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+            map.put(i, i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //WHEN
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread * KEYS_PER_THREAD;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i += 2) {
+                    assertEquals(i, map.remove(i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //THEN
+        assertEquals(THREADS * KEYS_PER_THREAD / 2, map.size());
+        Set<Integer> keys = new HashSet<>();
+        for (Entry<Integer, Integer> entry : map) {
+            assertEquals(1, entry.getKey() % 2);
+            assertTrue(keys.add(entry.getKey()));
+        }
+        assertEquals(THREADS * KEYS_PER_THREAD / 2, keys.size());
+    }
+
+    @DisplayName("test concurrent merge and computeIfAbsent are atomic")
+    @Test
+    void concurrentMergeAndComputeIfAbsentAreAtomic() throws Exception {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> counts = new ConcurrentHashMap<>(2);
+        ConcurrentHashMap<Integer, Integer> created = new ConcurrentHashMap<>(2);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //WHEN
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                    counts.merge(i % 1000, 1, Integer::sum);
+                    created.computeIfAbsent(i % 1000, key -> {
+                        calls.incrementAndGet();
+                        return key;
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        //THEN
+        assertEquals(1000, counts.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(THREADS * KEYS_PER_THREAD / 1000, counts.get(i));
+        }
+        assertEquals(1000, created.size());
+        assertEquals(1000, calls.get());
+    }
+
+    @DisplayName("test iterator visits every key present before it started while table grows")
+    @Test
+    void iteratorVisitsExistingKeysWhileTableGrows() throws Exception {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+        for (int i = 0; i < KEYS_PER_THREAD; i++) {
+            map.put(-i - 1, i);
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //WHEN
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+                map.put(i, i);
+            }
+        });
+        List<Set<Integer>> passes = new ArrayList<>();
+        while (!writer.isDone()) {
+            Set<Integer> visited = new HashSet<>();
+            for (Entry<Integer, Integer> entry : map) {
+                if (entry.getKey() < 0) {
+                    assertTrue(visited.add(entry.getKey()));
+                }
+            }
+            passes.add(visited);
+        }
+        writer.get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        //THEN
+        assertEquals(THREADS * KEYS_PER_THREAD + KEYS_PER_THREAD, map.size());
+        for (Set<Integer> visited : passes) {
+            assertEquals(KEYS_PER_THREAD, visited.size());
+        }
+    }
+
+    @DisplayName("test compute family keeps mappings to null values like HashMap")
+    @Test
+    void computeFamilyKeepsNullValues() {
+        //GIVEN
+        ConcurrentHashMap<String, String> map = new ConcurrentHashMap<>();
+        HashMap<String, String> expected = new HashMap<>();
+        for (Map<String, String> target : List.<Map<String, String>>of(map, expected)) {
+            target.put("present", null);
+            target.put("absent", null);
+            target.put("merged", null);
+            target.put("computed", null);
+        }
+
+        //WHEN
+        for (Map<String, String> target : List.<Map<String, String>>of(map, expected)) {
+            assertNull(target.computeIfPresent("present", (key, value) -> "x"));
+            assertEquals("y", target.computeIfAbsent("absent", key -> "y"));
+            assertEquals("z", target.merge("merged", "z", String::concat));
+            assertNull(target.compute("computed", (key, value) -> null));
+        }
+
+        //THEN
+        assertEquals(expected.size(), map.size());
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("present"));
+        assertNull(map.get("present"));
+        assertEquals("y", map.get("absent"));
+        assertEquals("z", map.get("merged"));
+        assertFalse(map.containsKey("computed"));
+        assertNull(map.computeIfPresent("missing", (key, value) -> "x"));
+        assertFalse(map.containsKey("missing"));
+    }
+
+    @DisplayName("test recursive update of a reserved bin throws IllegalStateException")
+    @Test
+    void recursiveUpdateThrowsIllegalStateException() {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+
+        //THEN
+        assertThrows(IllegalStateException.class, () -> map.computeIfAbsent(0, key -> map.put(2, 2)));
+        assertThrows(IllegalStateException.class, () -> map.computeIfAbsent(0, key -> map.computeIfAbsent(2, k -> 2)));
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(2));
+    }
+}
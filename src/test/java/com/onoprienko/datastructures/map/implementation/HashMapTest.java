@@ -1,299 +1,35 @@
 package com.onoprienko.datastructures.map.implementation;
 
+import com.onoprienko.datastructures.codec.Codecs;
 import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.Map;
 import com.onoprienko.datastructures.map.Map.Entry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-class HashMapTest {
+class HashMapTest extends AbstractMapTest {
 
     HashMap<String, String> map = new HashMap<>();
 
-
-    @DisplayName("test put and get values from map")
-    @Test
-    void putAndGetValuesFromMapWorkCorrect() {
-        //WHEN
-        map.put("A", "A");
-        map.put("B", "B");
-        map.put("C", "D");
-
-        //THEN
-        assertEquals(3, map.size());
-        assertEquals("A", map.get("A"));
-        assertEquals("B", map.get("B"));
-        assertEquals("D", map.get("C"));
-    }
-
-    @DisplayName("test put value with same key will rewrite it")
-    @Test
-    void putValueWithSameKeyWillRewriteIt() {
-        //WHEN
-        map.put("A", "A");
-        map.put("B", "B");
-        map.put("A", "D");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("D", map.get("A"));
-        assertEquals("B", map.get("B"));
-    }
-
-    @DisplayName("test get value with key that not exist will return null")
-    @Test
-    void getValueWithKeyThatNotInMapReturnsNull() {
-        //WHEN
-        map.put("A", "A");
-        map.put("B", "B");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("A", map.get("A"));
-        assertEquals("B", map.get("B"));
-        assertNull(map.get("L"));
-    }
-
-    @DisplayName("test put and get null values from map work correct")
-    @Test
-    void putAndGetNullValuesWorkCorrect() {
-        //WHEN
-        map.put(null, "A");
-        map.put("B", null);
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("A", map.get(null));
-        assertNull(map.get("B"));
-    }
-
-    @DisplayName("test put with same key will return old value")
-    @Test
-    void putWithSameKeyReturnOldValue() {
-        //WHEN
-        map.put("B", "A");
-        String oldValue = map.put("B", "D");
-
-        //THEN
-        assertEquals(1, map.size());
-        assertEquals("D", map.get("B"));
-        assertEquals("A", oldValue);
-    }
-
-    @DisplayName("test put with new key will return null")
-    @Test
-    void putWithNewKeyReturnNull() {
-        //WHEN
-        map.put("B", "A");
-        String oldValue = map.put("C", "D");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("A", map.get("B"));
-        assertEquals("D", map.get("C"));
-        assertNull(oldValue);
-    }
-
-    @DisplayName("test put with null as key twice will rewrite value")
-    @Test
-    void putWithNullKeyTwiceWillRewriteValue() {
-        //WHEN
-        map.put(null, "A");
-        map.put(null, "K");
-
-        //THEN
-        assertEquals(1, map.size());
-        assertEquals("K", map.get(null));
-    }
-
-    @DisplayName("test put over initial capacity(16) will increase its capacity")
-    @Test
-    void putOverInitialCapacityWillIncreaseItsCapacity() {
-        //WHEN
-        for (int i = 0; i < 10100; i++) {
-            map.put(String.valueOf(i), String.valueOf(i));
-        }
-
-        //THEN
-        for (int i = 0; i < 10100; i++) {
-            assertEquals(String.valueOf(i), map.get(String.valueOf(i)));
-        }
-        assertEquals(10100, map.size());
-    }
-
-    @DisplayName("test put values with keys 'null' and '0' will not rewrite each  other")
-    @Test
-    void putValueWithKeysNullAndZeroWillNotRewriteEachOther() {
-        //WHEN
-        map.put(null, "A");
-        assertEquals("A", map.get(null));
-        map.put(String.valueOf(0), "B");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("B", map.get("0"));
-        assertEquals("A", map.get(null));
-    }
-
-    @DisplayName("test get size when add null value with null key will return one")
-    @Test
-    void getSizeWhenPutNullValueWillReturnOne() {
-        //WHEN
-        map.put(null, null);
-
-        //THEN
-        assertEquals(1, map.size());
-        assertNull(map.get(null));
-    }
-
-    @DisplayName("test contains key will return true")
-    @Test
-    void containsKeyWorkCorrect() {
-        //WHEN
-        map.put("A", "B");
-        map.put("C", "D");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertTrue(map.containsKey("A"));
-        assertTrue(map.containsKey("C"));
-    }
-
-    @DisplayName("test contains key will return false if key not exist")
-    @Test
-    void containsKeyReturnFalse() {
-        //WHEN
-        map.put("A", "B");
-
-        //THEN
-        assertEquals(1, map.size());
-        assertFalse(map.containsKey("B"));
-        assertFalse(map.containsKey("L"));
-        assertFalse(map.containsKey(null));
-    }
-
-    @DisplayName("test contains key will return false on empty map")
-    @Test
-    void containsKeyReturnFalseOnEmptyMap() {
-        //WHEN
-        boolean contains = map.containsKey(null);
-
-        //THEN
-        assertEquals(0, map.size());
-        assertFalse(contains);
-    }
-
-    @DisplayName("test contains key will return true if key is null")
-    @Test
-    void containsKeyReturnTrueWithNullValue() {
-        //WHEN
-        map.put(null, "B");
-
-        //THEN
-        assertEquals(1, map.size());
-        assertTrue(map.containsKey(null));
-    }
-
-    @DisplayName("test remove value by key will return removed value and decrease size")
-    @Test
-    void removeOneValueReturnRemovedValueAndWorkCorrect() {
-        //GIVEN
-        map.put("A", "AB");
-        map.put("B", "BC");
-        map.put("C", "CD");
-
-        //WHEN
-        String removed = map.remove("B");
-
-        //THEN
-        assertEquals(2, map.size());
-        assertEquals("BC", removed);
-        assertEquals("AB", map.get("A"));
-        assertEquals("CD", map.get("C"));
-    }
-
-    @DisplayName("test remove already removed value return null")
-    @Test
-    void removeAlreadyRemovedValueReturnNull() {
-        //GIVEN
-        map.put("B", "BC");
-
-        //WHEN
-        String removedB = map.remove("B");
-        String removedNull = map.remove("B");
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("BC", removedB);
-        assertNull(removedNull);
-    }
-
-    @DisplayName("test remove all values by key will return removed values and clear map")
-    @Test
-    void removeAllValuesReturnRemovedValuesAndClearMap() {
-        //GIVEN
-        map.put("A", "AB");
-        map.put("B", "BC");
-        map.put("C", "CD");
-
-        //WHEN
-        String removedA = map.remove("A");
-        String removedB = map.remove("B");
-        String removedC = map.remove("C");
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("AB", removedA);
-        assertEquals("BC", removedB);
-        assertEquals("CD", removedC);
-    }
-
-    @DisplayName("test remove value with key 'null' work correct")
-    @Test
-    void removeNullWorkCorrect() {
-        //GIVEN
-        map.put(null, "AB");
-
-        //WHEN
-        String removedA = map.remove(null);
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("AB", removedA);
-    }
-
-
-    @DisplayName("test remove value with non exist key return null")
-    @Test
-    void removeNonExistValueReturnNull() {
-        //GIVEN
-        map.put(null, "AB");
-
-        //WHEN
-        String removedA = map.remove("D");
-
-        //THEN
-        assertEquals(1, map.size());
-        assertNull(removedA);
-    }
-
-    @DisplayName("test contains return false on removed value")
-    @Test
-    void containsReturnFalseOnDeletedValue() {
-        //GIVEN
-        map.put("A", "AB");
-
-        //WHEN
-        String removedA = map.remove("A");
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("AB", removedA);
-        assertFalse(map.containsKey("A"));
+    @Override
+    protected Map<String, String> getMap() {
+        return new HashMap<>();
     }
 
     @DisplayName("test Iterator return true on hasNext return next values")
@@ -349,7 +85,6 @@ class HashMapTest {
         assertEquals("D", next.getValue());
     }
 
-
     @DisplayName("test Iterator work correct with other initial capacity")
     @Test
     public void testIteratorWorkCorrectWithOtherInitialCapacity() {
@@ -378,111 +113,6 @@ class HashMapTest {
         assertEquals("A", next.getKey());
     }
 
-    @DisplayName("test iterator remove element change size of map")
-    @Test
-    public void testIteratorRemoveOneValue() {
-        //GIVEN
-        map.put("A", "A");
-        map.put(null, "B");
-        map.put("0", "C");
-        map.put("D", "D");
-        Iterator<Entry<String, String>> iterator = map.iterator();
-
-        //WHEN
-        assertEquals(4, map.size());
-        assertTrue(iterator.hasNext());
-        iterator.next();
-        iterator.remove();
-
-        //THEN
-        assertEquals(3, map.size());
-
-    }
-
-    @DisplayName("test iterator remove element change size of map")
-    @Test
-    public void testIteratorRemoveAllValues() {
-        //GIVEN
-        map.put("A", "A");
-        map.put("0", "C");
-        map.put("D", "D");
-        assertEquals(3, map.size());
-        Iterator<Entry<String, String>> iterator = map.iterator();
-
-        //WHEN
-        for (int i = 0; i < 3; i++) {
-            assertTrue(iterator.hasNext());
-            iterator.next();
-            iterator.remove();
-        }
-        //THEN
-        assertEquals(0, map.size());
-        assertFalse(map.containsKey("A"));
-        assertFalse(map.containsKey("0"));
-        assertFalse(map.containsKey("C"));
-        assertFalse(iterator.hasNext());
-
-    }
-
-    @DisplayName("test iterator hasNext return false and next return exception on empty map")
-    @Test
-    public void testIteratorHasNextReturnFalseAndNextReturnException() {
-        //GIVEN
-        map.put("A", "A");
-        assertEquals(1, map.size());
-        Iterator<Entry<String, String>> iterator = map.iterator();
-
-        //WHEN
-        assertTrue(iterator.hasNext());
-        iterator.next();
-        iterator.remove();
-        assertFalse(iterator.hasNext());
-        assertThrows(IllegalStateException.class, iterator::remove);
-
-        //THEN
-        assertEquals(0, map.size());
-        assertFalse(iterator.hasNext());
-    }
-
-    @DisplayName("test iterator remove return exception when try remove twice")
-    @Test
-    public void testIteratorRemoveThrowExceptionWhenTryRemoveTwice() {
-        //GIVEN
-        map.put("A", "A");
-        Iterator<Entry<String, String>> iterator = map.iterator();
-
-        //WHEN
-        assertTrue(iterator.hasNext());
-        iterator.next();
-        iterator.remove();
-        Exception exception = assertThrows(IllegalStateException.class, iterator::remove);
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("No values to remove", exception.getMessage());
-        assertFalse(iterator.hasNext());
-
-    }
-
-    @DisplayName("test iterator remove throw exception when try remove on empty map")
-    @Test
-    public void testIteratorRemoveThrowExceptionWhenTryRemoveOnEmptyMap() {
-        //GIVEN
-        assertEquals(0, map.size());
-        Iterator<Entry<String, String>> iterator = map.iterator();
-
-        //WHEN
-        Exception exceptionNext = assertThrows(NoSuchElementException.class, iterator::next);
-        Exception exceptionRemove = assertThrows(IllegalStateException.class, iterator::remove);
-
-        //THEN
-        assertEquals(0, map.size());
-        assertEquals("No next value found", exceptionNext.getMessage());
-        assertEquals("No values to remove", exceptionRemove.getMessage());
-        assertFalse(iterator.hasNext());
-
-    }
-
     @DisplayName("test toString")
     @Test
     public void testToString() {
@@ -497,23 +127,6 @@ class HashMapTest {
                 map.toString());
     }
 
-
-    @DisplayName("test put 3 entries in the same cell will return size 3")
-    @Test
-    public void testPutInSameCellThreeEntriesWillReturnCorrectSize() {
-        //WHEN
-        map.put("0", "A");
-        map.put(null, "B");
-        map.put(" ", "C");
-
-        //THEN
-        assertEquals(3, map.size());
-        assertTrue(map.containsKey("0"));
-        assertTrue(map.containsKey(null));
-        assertTrue(map.containsKey(" "));
-
-    }
-
     @DisplayName("test put 3 entries in the same cell and remove first entry by iterator work correct")
     @Test
     public void testPutInSameCellThreeEntriesAndRemoveFirstWorkCorrect() {
@@ -584,58 +197,260 @@ class HashMapTest {
 
     }
 
-    @DisplayName("test put 3 entries in the same cell and remove last entry work correct")
+    @DisplayName("test keys with negative hash codes work correct")
     @Test
-    public void testPutInSameCellThreeEntriesAndRemoveFirst() {
+    void keysWithNegativeHashCodesWorkCorrect() {
         //GIVEN
-        map.put("0", "A");
-        map.put(null, "B");
-        map.put(" ", "C");
+        HashMap<Integer, String> map = new HashMap<>();
 
         //WHEN
-        assertEquals("A", map.remove("0"));
+        map.put(-1, "A");
+        map.put(Integer.MIN_VALUE, "B");
 
         //THEN
-        assertEquals(2, map.size());
-        assertFalse(map.containsKey("0"));
-        assertTrue(map.containsKey(null));
-        assertTrue(map.containsKey(" "));
+        assertEquals("A", map.get(-1));
+        assertEquals("B", map.get(Integer.MIN_VALUE));
+        assertEquals("A", map.remove(-1));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("test map with expected size and load factor keeps all entries")
+    @Test
+    void mapWithExpectedSizeAndLoadFactorKeepsAllEntries() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(1000, 0.9);
+
+        //WHEN
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, i);
+        }
 
+        //THEN
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, map.get(i));
+        }
     }
 
-    @DisplayName("test put 3 entries in the same cell and remove second entry work correct")
+    @DisplayName("test constructor rejects not positive load factor and negative size")
     @Test
-    public void testPutInSameCellThreeEntriesAndRemoveSecond() {
+    void constructorRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashMap<>(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashMap<>(10, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new HashMap<>(-1, 0.75));
+    }
+
+    @DisplayName("test ensureCapacity and trimToSize keep all entries")
+    @Test
+    void ensureCapacityAndTrimToSizeKeepEntries() {
         //GIVEN
-        map.put("0", "A");
-        map.put(null, "B");
-        map.put(" ", "C");
+        HashMap<Integer, Integer> map = new HashMap<>();
+        map.ensureCapacity(10000);
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i);
+        }
 
         //WHEN
-        assertEquals("B", map.remove(null));
+        for (int i = 100; i < 10000; i++) {
+            map.remove(i);
+        }
+        map.trimToSize();
 
         //THEN
-        assertEquals(2, map.size());
-        assertTrue(map.containsKey("0"));
-        assertFalse(map.containsKey(null));
-        assertTrue(map.containsKey(" "));
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get(i));
+        }
+        assertNull(map.get(100));
     }
 
-    @DisplayName("test put 3 entries in the same cell and remove last entry work correct")
+    @DisplayName("test map with zero capacity grows on put")
     @Test
-    public void testPutInSameCellThreeEntriesAndRemoveLast() {
+    void mapWithZeroCapacityGrows() {
         //GIVEN
-        map.put("0", "A");
-        map.put(null, "B");
-        map.put(" ", "C");
+        HashMap<String, String> map = new HashMap<>(0);
 
         //WHEN
-        assertEquals("C", map.remove(" "));
+        map.put("A", "A");
+        map.put("B", "B");
 
         //THEN
         assertEquals(2, map.size());
-        assertTrue(map.containsKey("0"));
-        assertTrue(map.containsKey(null));
-        assertFalse(map.containsKey(" "));
+        assertEquals("A", map.get("A"));
+        assertEquals("B", map.get("B"));
+    }
+
+    @DisplayName("test spliterator splits by bucket ranges and covers every entry once")
+    @Test
+    void spliteratorSplitsByBucketRanges() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        //WHEN
+        Spliterator<Entry<Integer, Integer>> spliterator = map.spliterator();
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        Spliterator<Entry<Integer, Integer>> prefix = spliterator.trySplit();
+        int[] counts = new int[1000];
+        prefix.forEachRemaining(entry -> counts[entry.getKey()]++);
+        while (spliterator.tryAdvance(entry -> counts[entry.getKey()]++)) {
+        }
+
+        //THEN
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+        for (int count : counts) {
+            assertEquals(1, count);
+        }
+    }
+
+    @DisplayName("test views are cached and stay live across resizes and tree bins")
+    @Test
+    void viewsAreCachedAndLive() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(4, true);
+        Set<Integer> keys = map.keySet();
+
+        //WHEN
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 64, i);
+        }
+
+        //THEN
+        assertSame(keys, map.keySet());
+        assertSame(map.values(), map.values());
+        assertSame(map.entrySet(), map.entrySet());
+        assertEquals(1000, keys.size());
+        int visited = 0;
+        for (Integer key : keys) {
+            assertEquals(key / 64, map.get(key));
+            visited++;
+        }
+        assertEquals(1000, visited);
+        assertTrue(map.containsValue(999));
+
+        //WHEN
+        map.values().removeIf(value -> value % 2 == 0);
+
+        //THEN
+        assertEquals(500, map.size());
+        assertFalse(map.containsKey(0));
+        assertTrue(map.containsKey(64));
+    }
+
+    @DisplayName("test keySet and entrySet remove report whether an entry was removed")
+    @Test
+    void viewRemoveReportsRemoval() {
+        //GIVEN
+        HashMap<String, String> map = new HashMap<>();
+        map.put("A", null);
+        map.put("B", "2");
+        map.put("C", "3");
+        HashMap<String, String> other = new HashMap<>();
+        other.put("B", "2");
+        other.put("C", "4");
+        Entry<String, String> matching = null;
+        Entry<String, String> different = null;
+        for (Entry<String, String> entry : other) {
+            if ("B".equals(entry.getKey())) {
+                matching = entry;
+            } else {
+                different = entry;
+            }
+        }
+
+        //WHEN
+        boolean nullValueRemoved = map.keySet().remove("A");
+        boolean missingRemoved = map.keySet().remove("A");
+        boolean entryRemoved = map.entrySet().remove(matching);
+        boolean otherValueRemoved = map.entrySet().remove(different);
+
+        //THEN
+        assertTrue(nullValueRemoved);
+        assertFalse(missingRemoved);
+        assertTrue(entryRemoved);
+        assertFalse(otherValueRemoved);
+        assertEquals(1, map.size());
+        assertEquals("3", map.get("C"));
+    }
+
+    @DisplayName("test compute returning null removes entries while buckets migrate")
+    @Test
+    void computeRemovesEntriesDuringMigration() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(4, true);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        //WHEN
+        for (int i = 0; i < 1000; i += 2) {
+            assertNull(map.computeIfPresent(i, (key, value) -> null));
+        }
+
+        //THEN
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(i));
+        }
+    }
+
+    @DisplayName("test snapshot round trip keeps entries written mid-migration")
+    @Test
+    void snapshotRoundTrip(@TempDir Path directory) throws IOException {
+        //GIVEN
+        HashMap<String, Long> map = new HashMap<>(4, true);
+        for (long i = 0; i < 10_000; i++) {
+            map.put("key" + i, i);
+        }
+        map.put(null, 7L);
+        map.put("empty", null);
+        Path file = directory.resolve("map.snapshot");
+
+        //WHEN
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            map.writeSnapshot(channel, Codecs.STRING, Codecs.LONG);
+        }
+        HashMap<String, Long> restored;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            restored = HashMap.readSnapshot(channel, Codecs.STRING, Codecs.LONG);
+        }
+
+        //THEN
+        assertEquals(map.size(), restored.size());
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals(i, restored.get("key" + i));
+        }
+        assertEquals(7L, restored.get(null));
+        assertTrue(restored.containsKey("empty"));
+        assertNull(restored.get("empty"));
+    }
+
+    @DisplayName("test reading a foreign channel fails")
+    @Test
+    void readingForeignChannelFails() {
+        //GIVEN
+        byte[] bytes = new byte[16];
+
+        //THEN
+        assertThrows(StreamCorruptedException.class, () -> HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), Codecs.STRING, Codecs.STRING));
+        assertThrows(EOFException.class, () -> HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(new byte[2])), Codecs.STRING, Codecs.STRING));
+    }
+
+    @DisplayName("test snapshot with corrupt entry count fails without pre-sizing from it")
+    @Test
+    void corruptEntryCountFails() {
+        //GIVEN
+        byte[] huge = ByteBuffer.allocate(8).putInt(0x534E4150).putInt(Integer.MAX_VALUE).array();
+        byte[] negative = ByteBuffer.allocate(8).putInt(0x534E4150).putInt(-1).array();
+
+        //THEN
+        assertThrows(EOFException.class, () -> HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(huge)), Codecs.STRING, Codecs.STRING));
+        assertThrows(StreamCorruptedException.class, () -> HashMap.readSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(negative)), Codecs.STRING, Codecs.STRING));
     }
-}
\ No newline at end of file
+}
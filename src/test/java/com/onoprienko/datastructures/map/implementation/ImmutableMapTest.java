@@ -0,0 +1,117 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.ConcurrentHashMap;
+import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.ImmutableMap;
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import com.onoprienko.datastructures.map.OpenAddressingHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImmutableMapTest {
+
+    @DisplayName("test frozen map contains every entry of the source")
+    @Test
+    void frozenMapContainsEverySourceEntry() {
+        //GIVEN
+        HashMap<String, Integer> source = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            source.put("key" + i, i);
+        }
+        source.put(null, -1);
+        source.put("empty", null);
+
+        //WHEN
+        ImmutableMap<String, Integer> frozen = source.freeze();
+        source.put("key0", -5);
+
+        //THEN
+        assertEquals(10_002, frozen.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, frozen.get("key" + i));
+        }
+        assertEquals(-1, frozen.get(null));
+        assertTrue(frozen.containsKey("empty"));
+        assertNull(frozen.get("empty"));
+        assertFalse(frozen.containsKey("missing"));
+        assertEquals(42, frozen.getOrDefault("missing", 42));
+        assertTrue(frozen.containsValue(9999));
+        assertFalse(frozen.containsValue(-5));
+    }
+
+    @DisplayName("test mutating methods throw UnsupportedOperationException")
+    @Test
+    void mutatingMethodsThrowUnsupportedOperationException() {
+        //GIVEN
+        Map<String, String> source = new OpenAddressingHashMap<>();
+        source.put("A", "1");
+        ImmutableMap<String, String> frozen = ImmutableMap.copyOf(source);
+
+        //THEN
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("B", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("A"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.merge("A", "2", String::concat));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.iterator().next().setValue("2"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.keySet().remove("A"));
+        assertSame(frozen, ImmutableMap.copyOf(frozen));
+    }
+
+    @DisplayName("test iterator and forEach visit every entry once")
+    @Test
+    void iteratorAndForEachVisitEveryEntry() {
+        //GIVEN
+        HashMap<Integer, Integer> source = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            source.put(i, i * 2);
+        }
+        ImmutableMap<Integer, Integer> frozen = source.freeze();
+
+        //WHEN
+        int[] visits = new int[100];
+        frozen.forEach((key, value) -> {
+            assertEquals(key * 2, value);
+            visits[key]++;
+        });
+        Iterator<Entry<Integer, Integer>> iterator = frozen.iterator();
+        while (iterator.hasNext()) {
+            visits[iterator.next().getKey()]++;
+        }
+
+        //THEN
+        for (int count : visits) {
+            assertEquals(2, count);
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(0, ImmutableMap.copyOf(new HashMap<String, String>()).size());
+    }
+
+    @DisplayName("test copy is sized from the entries read when the source size is stale")
+    @Test
+    void copyIsSizedFromReadEntries() {
+        //GIVEN
+        ConcurrentHashMap<Integer, Integer> source = new ConcurrentHashMap<>() {
+            @Override
+            public int size() {
+                return 1;
+            }
+        };
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, i);
+        }
+
+        //WHEN
+        ImmutableMap<Integer, Integer> frozen = ImmutableMap.copyOf(source);
+
+        //THEN
+        assertEquals(1000, frozen.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, frozen.get(i));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalResizeHashMapTest extends AbstractMapTest {
+
+    @Override
+    protected Map<String, String> getMap() {
+        return new HashMap<>(16, true);
+    }
+
+    @DisplayName("test keys put before resize stay reachable while buckets migrate")
+    @Test
+    void keysStayReachableWhileBucketsMigrate() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(64, true);
+        for (int i = 0; i <= 48; i++) {
+            map.put(i, i);
+        }
+
+        //WHEN
+        map.put(1000, 1000);
+
+        //THEN
+        for (int i = 0; i <= 48; i++) {
+            assertEquals(i, map.get(i));
+        }
+        assertEquals(1000, map.get(1000));
+        assertEquals(50, map.size());
+    }
+
+    @DisplayName("test put and remove of not migrated keys update them in place")
+    @Test
+    void putAndRemoveNotMigratedKeys() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(64, true);
+        for (int i = 0; i <= 49; i++) {
+            map.put(i, i);
+        }
+
+        //WHEN
+        Integer oldValue = map.put(63, -63);
+        Integer replaced = map.put(30, -30);
+        Integer removed = map.remove(31);
+
+        //THEN
+        assertNull(oldValue);
+        assertEquals(30, replaced);
+        assertEquals(31, removed);
+        assertEquals(-30, map.get(30));
+        assertNull(map.get(31));
+        assertEquals(-63, map.get(63));
+        assertEquals(50, map.size());
+    }
+
+    @DisplayName("test iterator sees every entry when created in the middle of migration")
+    @Test
+    void iteratorSeesEveryEntryDuringMigration() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(16, true);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Set<Integer> keys = new HashSet<>();
+
+        //WHEN
+        for (Entry<Integer, Integer> entry : map) {
+            keys.add(entry.getKey());
+        }
+
+        //THEN
+        assertEquals(1000, keys.size());
+        assertEquals(1000, map.size());
+    }
+
+    @DisplayName("test forEach while buckets migrate visits every entry once")
+    @Test
+    void forEachWhileBucketsMigrate() {
+        //GIVEN
+        HashMap<Integer, Integer> map = new HashMap<>(64, true);
+        for (int i = 0; i <= 48; i++) {
+            map.put(i, i);
+        }
+        map.put(1000, 1000);
+        int[] counts = new int[1001];
+
+        //WHEN
+        map.forEach((key, value) -> counts[key]++);
+
+        //THEN
+        for (int i = 0; i <= 48; i++) {
+            assertEquals(1, counts[i]);
+        }
+        assertEquals(1, counts[1000]);
+    }
+}
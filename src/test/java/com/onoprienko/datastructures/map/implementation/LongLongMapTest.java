@@ -0,0 +1,130 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.LongLongMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongMapTest {
+
+    LongLongMap map = new LongLongMap();
+
+    @DisplayName("test put and get values from map")
+    @Test
+    void putAndGetValuesFromMapWorkCorrect() {
+        //WHEN
+        map.put(1, 10);
+        map.put(-2, 20);
+        map.put(Long.MIN_VALUE, 30);
+
+        //THEN
+        assertEquals(3, map.size());
+        assertEquals(10, map.get(1));
+        assertEquals(20, map.get(-2));
+        assertEquals(30, map.get(Long.MIN_VALUE));
+        assertEquals(LongLongMap.NO_VALUE, map.get(7));
+    }
+
+    @DisplayName("test put with same key will return old value")
+    @Test
+    void putWithSameKeyReturnOldValue() {
+        //WHEN
+        assertEquals(LongLongMap.NO_VALUE, map.put(5, 1));
+        long oldValue = map.put(5, 2);
+
+        //THEN
+        assertEquals(1, map.size());
+        assertEquals(1, oldValue);
+        assertEquals(2, map.get(5));
+    }
+
+    @DisplayName("test key zero is stored apart from the table")
+    @Test
+    void putAndRemoveZeroKeyWorkCorrect() {
+        //WHEN
+        map.put(0, 42);
+
+        //THEN
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(0));
+        assertEquals(42, map.get(0));
+        assertEquals(42, map.remove(0));
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+    }
+
+    @DisplayName("test getOrDefault returns default only for missing keys")
+    @Test
+    void getOrDefaultWorkCorrect() {
+        //WHEN
+        map.put(3, 0);
+
+        //THEN
+        assertEquals(0, map.getOrDefault(3, -1));
+        assertEquals(-1, map.getOrDefault(4, -1));
+        assertEquals(-1, map.getOrDefault(0, -1));
+    }
+
+    @DisplayName("test put over initial capacity and remove half of keys keep map consistent")
+    @Test
+    void putOverCapacityAndRemoveKeepMapConsistent() {
+        //GIVEN
+        for (int i = 1; i <= 10000; i++) {
+            map.put(i * 16L, i);
+        }
+
+        //WHEN
+        for (int i = 2; i <= 10000; i += 2) {
+            assertEquals((long) i, map.remove(i * 16L));
+        }
+
+        //THEN
+        assertEquals(5000, map.size());
+        for (int i = 1; i <= 10000; i++) {
+            assertEquals(i % 2 == 0 ? LongLongMap.NO_VALUE : (long) i, map.get(i * 16L));
+            assertEquals(i % 2 != 0, map.containsKey(i * 16L));
+        }
+    }
+
+    @DisplayName("test cursor visits every entry once")
+    @Test
+    void cursorVisitsEveryEntry() {
+        //GIVEN
+        map.put(0, 1);
+        map.put(1, 2);
+        map.put(2, 3);
+        long keySum = 0;
+        long valueSum = 0;
+
+        //WHEN
+        LongLongMap.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            keySum += cursor.key();
+            valueSum += cursor.value();
+        }
+
+        //THEN
+        assertEquals(3, keySum);
+        assertEquals(6, valueSum);
+        assertThrows(NoSuchElementException.class, cursor::value);
+    }
+
+    @DisplayName("test clear removes all entries")
+    @Test
+    void clearRemovesAllEntries() {
+        //GIVEN
+        map.put(0, 1);
+        map.put(1, 2);
+
+        //WHEN
+        map.clear();
+
+        //THEN
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+}
@@ -0,0 +1,131 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.LongObjectMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    LongObjectMap<String> map = new LongObjectMap<>();
+
+    @DisplayName("test put and get values from map")
+    @Test
+    void putAndGetValuesFromMapWorkCorrect() {
+        //WHEN
+        map.put(1, "A");
+        map.put(-2, "B");
+        map.put(Long.MAX_VALUE, "C");
+
+        //THEN
+        assertEquals(3, map.size());
+        assertEquals("A", map.get(1));
+        assertEquals("B", map.get(-2));
+        assertEquals("C", map.get(Long.MAX_VALUE));
+        assertNull(map.get(7));
+    }
+
+    @DisplayName("test put with same key will return old value")
+    @Test
+    void putWithSameKeyReturnOldValue() {
+        //WHEN
+        map.put(5, "A");
+        String oldValue = map.put(5, "B");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertEquals("A", oldValue);
+        assertEquals("B", map.get(5));
+    }
+
+    @DisplayName("test key zero is stored apart from the table")
+    @Test
+    void putAndRemoveZeroKeyWorkCorrect() {
+        //WHEN
+        assertFalse(map.containsKey(0));
+        map.put(0, "zero");
+
+        //THEN
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.get(0));
+        assertEquals("zero", map.remove(0));
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+    }
+
+    @DisplayName("test getOrDefault returns default only for missing keys")
+    @Test
+    void getOrDefaultWorkCorrect() {
+        //WHEN
+        map.put(3, null);
+
+        //THEN
+        assertNull(map.getOrDefault(3, "D"));
+        assertEquals("D", map.getOrDefault(4, "D"));
+        assertEquals("D", map.getOrDefault(0, "D"));
+    }
+
+    @DisplayName("test put over initial capacity and remove half of keys keep map consistent")
+    @Test
+    void putOverCapacityAndRemoveKeepMapConsistent() {
+        //GIVEN
+        for (int i = 0; i < 10000; i++) {
+            map.put(i * 16L, String.valueOf(i));
+        }
+
+        //WHEN
+        for (int i = 0; i < 10000; i += 2) {
+            assertEquals(String.valueOf(i), map.remove(i * 16L));
+        }
+
+        //THEN
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), map.get(i * 16L));
+        }
+    }
+
+    @DisplayName("test cursor visits every entry once")
+    @Test
+    void cursorVisitsEveryEntry() {
+        //GIVEN
+        map.put(0, "A");
+        map.put(1, "B");
+        map.put(2, "C");
+        long keySum = 0;
+        StringBuilder values = new StringBuilder();
+
+        //WHEN
+        LongObjectMap<String>.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            keySum += cursor.key();
+            values.append(cursor.value());
+        }
+
+        //THEN
+        assertEquals(3, keySum);
+        assertEquals(3, values.length());
+        assertFalse(cursor.advance());
+        assertThrows(NoSuchElementException.class, cursor::key);
+    }
+
+    @DisplayName("test clear removes all entries")
+    @Test
+    void clearRemovesAllEntries() {
+        //GIVEN
+        map.put(0, "A");
+        map.put(1, "B");
+
+        //WHEN
+        map.clear();
+
+        //THEN
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+}
@@ -0,0 +1,235 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.LruCache;
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest extends AbstractMapTest {
+
+    @Override
+    protected Map<String, String> getMap() {
+        return new LruCache<>(Integer.MAX_VALUE);
+    }
+
+    @DisplayName("test put over max size evicts least recently used entry")
+    @Test
+    void putOverMaxSizeEvictsLeastRecentlyUsed() {
+        //GIVEN
+        List<String> evicted = new ArrayList<>();
+        LruCache<String, String> cache = new LruCache<>(2, (key, value) -> evicted.add(key));
+        cache.put("A", "A");
+        cache.put("B", "B");
+
+        //WHEN
+        cache.get("A");
+        cache.put("C", "C");
+
+        //THEN
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("A"));
+        assertFalse(cache.containsKey("B"));
+        assertTrue(cache.containsKey("C"));
+        assertEquals(List.of("B"), evicted);
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @DisplayName("test put over max weight evicts until weight fits")
+    @Test
+    void putOverMaxWeightEvictsUntilWeightFits() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(100, 10, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put("A", "aaaa");
+        cache.put("B", "bbbb");
+
+        //WHEN
+        cache.put("C", "cccccc");
+
+        //THEN
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.weight());
+        assertFalse(cache.containsKey("A"));
+        assertEquals("bbbb", cache.get("B"));
+    }
+
+    @DisplayName("test replace and remove keep weight correct")
+    @Test
+    void replaceAndRemoveKeepWeightCorrect() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(100, 100, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put("A", "aaaa");
+        cache.put("B", "bb");
+
+        //WHEN
+        cache.put("A", "a");
+        cache.remove("B");
+
+        //THEN
+        assertEquals(1, cache.weight());
+        assertEquals(1, cache.size());
+    }
+
+    @DisplayName("test entry setValue over max weight evicts least recently used entries")
+    @Test
+    void entrySetValueOverMaxWeightEvicts() {
+        //GIVEN
+        List<String> evicted = new ArrayList<>();
+        LruCache<String, String> cache = new LruCache<>(100, 10, (key, value) -> value.length(),
+                (key, value) -> evicted.add(key));
+        cache.put("A", "aaa");
+        cache.put("B", "bbb");
+        Entry<String, String> newest = cache.iterator().next();
+
+        //WHEN
+        newest.setValue("bbbbbbbb");
+
+        //THEN
+        assertEquals(List.of("A"), evicted);
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.weight());
+        assertEquals("bbbbbbbb", cache.get("B"));
+    }
+
+    @DisplayName("test iterator remove after setValue evicted the returned entry does nothing")
+    @Test
+    void iteratorRemoveAfterSelfEvictionDoesNothing() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(100, 10, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put("A", "aaa");
+        cache.put("B", "bbb");
+        cache.put("C", "ccc");
+        Iterator<Entry<String, String>> iterator = cache.iterator();
+
+        //WHEN
+        Entry<String, String> newest = iterator.next();
+        newest.setValue("ccccccccccc");
+        iterator.remove();
+
+        //THEN
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @DisplayName("test iterator skips entries evicted by setValue")
+    @Test
+    void iteratorSkipsEntriesEvictedBySetValue() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(100, 10, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put("A", "aa");
+        cache.put("B", "bb");
+        cache.put("C", "cc");
+        Iterator<Entry<String, String>> iterator = cache.iterator();
+
+        //WHEN
+        iterator.next().setValue("ccccccccc");
+        List<String> keys = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+
+        //THEN
+        assertEquals(List.of(), keys);
+        assertEquals(1, cache.size());
+        assertEquals(9, cache.weight());
+        assertEquals("ccccccccc", cache.get("C"));
+    }
+
+    @DisplayName("test setValue on a removed entry does not change the cache weight")
+    @Test
+    void setValueOnRemovedEntryKeepsWeight() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(100, 100, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put("A", "aaaa");
+        Entry<String, String> entry = cache.iterator().next();
+        cache.remove("A");
+
+        //WHEN
+        String oldValue = entry.setValue("bbbb");
+
+        //THEN
+        assertEquals("aaaa", oldValue);
+        assertEquals("bbbb", entry.getValue());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertFalse(cache.containsKey("A"));
+    }
+
+    @DisplayName("test many keys stay reachable after the table grows and entries are evicted")
+    @Test
+    void manyKeysStayReachableAfterGrowth() {
+        //GIVEN
+        LruCache<Integer, Integer> cache = new LruCache<>(1000);
+
+        //WHEN
+        for (int i = 0; i < 5000; i++) {
+            cache.put(i, i);
+        }
+
+        //THEN
+        assertEquals(1000, cache.size());
+        assertEquals(4000, cache.evictionCount());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i < 4000 ? null : i, cache.get(i));
+        }
+    }
+
+    @DisplayName("test hit and miss counters")
+    @Test
+    void hitAndMissCounters() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.put("A", "A");
+
+        //WHEN
+        cache.get("A");
+        cache.get("A");
+        cache.get("B");
+
+        //THEN
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @DisplayName("test iterator goes from most to least recently used")
+    @Test
+    void iteratorGoesFromMostRecentlyUsed() {
+        //GIVEN
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.put("A", "A");
+        cache.put("B", "B");
+        cache.put("C", "C");
+
+        //WHEN
+        cache.get("A");
+
+        //THEN
+        List<String> keys = new ArrayList<>();
+        for (Entry<String, String> entry : cache) {
+            keys.add(entry.getKey());
+        }
+        assertEquals(List.of("A", "C", "B"), keys);
+    }
+
+    @DisplayName("test constructor rejects not positive limits")
+    @Test
+    void constructorRejectsNotPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(1, 0, (key, value) -> 1, (key, value) -> {
+        }));
+    }
+}
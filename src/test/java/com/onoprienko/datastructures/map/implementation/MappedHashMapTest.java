@@ -0,0 +1,189 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.codec.Codecs;
+import com.onoprienko.datastructures.map.MappedHashMap;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedHashMapTest {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("test put, get and remove values")
+    @Test
+    void putGetAndRemoveWorkCorrect() {
+        //GIVEN
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            //WHEN
+            assertNull(map.put("A", "1"));
+            assertNull(map.put("B", "2"));
+            assertEquals("1", map.put("A", "11"));
+
+            //THEN
+            assertEquals(2, map.size());
+            assertEquals("11", map.get("A"));
+            assertEquals("2", map.remove("B"));
+            assertNull(map.remove("B"));
+            assertFalse(map.containsKey("B"));
+            assertEquals(1, map.size());
+            assertThrows(NullPointerException.class, () -> map.put("C", null));
+        }
+    }
+
+    @DisplayName("test map survives close and reopen")
+    @Test
+    void mapSurvivesReopen() {
+        //GIVEN
+        try (MappedHashMap<Long, String> map = new MappedHashMap<>(directory.resolve("longs.bin"), Codecs.LONG, Codecs.STRING)) {
+            for (long i = 0; i < 5000; i++) {
+                map.put(i, "value" + i);
+            }
+            for (long i = 0; i < 5000; i += 3) {
+                map.remove(i);
+            }
+        }
+
+        //WHEN
+        try (MappedHashMap<Long, String> map = new MappedHashMap<>(directory.resolve("longs.bin"), Codecs.LONG, Codecs.STRING)) {
+            //THEN
+            assertEquals(3333, map.size());
+            for (long i = 0; i < 5000; i++) {
+                assertEquals(i % 3 == 0 ? null : "value" + i, map.get(i));
+            }
+        }
+    }
+
+    @DisplayName("test uncommitted changes are dropped after a crash")
+    @Test
+    void uncommittedChangesAreDroppedAfterCrash() throws IOException {
+        //GIVEN
+        Path crashImage = directory.resolve("crash.bin");
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            map.put("A", "1");
+            map.put("B", "2");
+            map.force();
+            map.put("C", "3");
+            map.remove("A");
+            Files.copy(directory.resolve("map.bin"), crashImage);
+        }
+
+        //WHEN
+        try (MappedHashMap<String, String> recovered = open("crash.bin")) {
+            //THEN
+            assertEquals(2, recovered.size());
+            assertEquals("1", recovered.get("A"));
+            assertEquals("2", recovered.get("B"));
+            assertFalse(recovered.containsKey("C"));
+        }
+    }
+
+    @DisplayName("test compact drops overwritten records")
+    @Test
+    void compactShrinksFile() throws IOException {
+        //GIVEN
+        Path file = directory.resolve("map.bin");
+        String padding = "x".repeat(100);
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            for (int i = 0; i < 800; i++) {
+                map.put("key" + i, padding + i);
+            }
+            for (int i = 0; i < 700; i++) {
+                map.put("key" + i, padding + -i);
+            }
+            map.force();
+            long sizeBeforeCompaction = Files.size(file);
+
+            //WHEN
+            map.compact();
+
+            //THEN
+            assertTrue(Files.size(file) < sizeBeforeCompaction);
+            assertEquals(800, map.size());
+            assertEquals(padding + -699, map.get("key699"));
+            assertEquals(padding + 799, map.get("key799"));
+        }
+    }
+
+    @DisplayName("test overwrites compact the file once dead records outweigh live ones")
+    @Test
+    void overwritesCompactFileAutomatically() throws IOException {
+        //GIVEN
+        Path file = directory.resolve("map.bin");
+        long initialSize;
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            map.put("key", "value");
+            map.force();
+            initialSize = Files.size(file);
+
+            //WHEN
+            for (int i = 0; i < 100_000; i++) {
+                map.put("key", "value" + i);
+            }
+            map.put("removed", "value");
+            map.remove("removed");
+        }
+
+        //THEN
+        assertEquals(initialSize, Files.size(file));
+        assertFalse(Files.exists(directory.resolve("map.bin.tmp")));
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            assertEquals(1, map.size());
+            assertEquals("value99999", map.get("key"));
+        }
+    }
+
+    @DisplayName("test iterator visits and removes entries")
+    @Test
+    void iteratorVisitsAndRemovesEntries() {
+        //GIVEN
+        try (MappedHashMap<String, String> map = open("map.bin")) {
+            for (int i = 0; i < 100; i++) {
+                map.put("key" + i, "value" + i);
+            }
+
+            //WHEN
+            int count = 0;
+            Iterator<Entry<String, String>> iterator = map.iterator();
+            while (iterator.hasNext()) {
+                Entry<String, String> entry = iterator.next();
+                assertEquals(entry.getKey().replace("key", "value"), entry.getValue());
+                if (count % 2 == 0) {
+                    iterator.remove();
+                }
+                count++;
+            }
+
+            //THEN
+            assertEquals(100, count);
+            assertEquals(50, map.size());
+        }
+    }
+
+    @DisplayName("test closed map and foreign files are rejected")
+    @Test
+    void closedMapAndForeignFilesAreRejected() throws IOException {
+        //GIVEN
+        MappedHashMap<String, String> map = open("map.bin");
+        map.close();
+        Files.write(directory.resolve("foreign.bin"), new byte[128]);
+
+        //THEN
+        assertThrows(IllegalStateException.class, () -> map.get("A"));
+        assertThrows(UncheckedIOException.class, () -> open("foreign.bin"));
+    }
+
+    private MappedHashMap<String, String> open(String name) {
+        return new MappedHashMap<>(directory.resolve(name), Codecs.STRING, Codecs.STRING);
+    }
+}
@@ -0,0 +1,141 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.OffHeapLongBytesMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLongBytesMapTest {
+
+    OffHeapLongBytesMap map = new OffHeapLongBytesMap(16);
+
+    @AfterEach
+    void after() {
+        map.close();
+    }
+
+    @DisplayName("test put and get values from map")
+    @Test
+    void putAndGetValuesFromMapWorkCorrect() {
+        //WHEN
+        assertTrue(map.put(1, bytes("A")));
+        assertTrue(map.put(0, bytes("zero")));
+        assertTrue(map.put(Long.MIN_VALUE, new byte[0]));
+        assertFalse(map.put(1, bytes("AB")));
+
+        //THEN
+        assertEquals(3, map.size());
+        assertArrayEquals(bytes("AB"), map.get(1));
+        assertArrayEquals(bytes("zero"), map.get(0));
+        assertArrayEquals(new byte[0], map.get(Long.MIN_VALUE));
+        assertNull(map.get(7));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(7));
+    }
+
+    @DisplayName("test get into target buffer returns value length")
+    @Test
+    void getIntoTargetReturnsLength() {
+        //GIVEN
+        map.put(5, bytes("value"));
+        byte[] target = new byte[16];
+
+        //WHEN
+        int length = map.get(5, target);
+
+        //THEN
+        assertEquals(5, length);
+        assertEquals("value", new String(target, 0, length, StandardCharsets.UTF_8));
+        assertEquals(-1, map.get(6, target));
+        assertThrows(IllegalArgumentException.class, () -> map.get(5, new byte[2]));
+    }
+
+    @DisplayName("test values longer than max value size are rejected")
+    @Test
+    void tooLongValueThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, new byte[17]));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapLongBytesMap(0));
+    }
+
+    @DisplayName("test map grows and removes keep probe chains intact")
+    @Test
+    void growAndRemoveWorkCorrect() {
+        //WHEN
+        for (long i = 0; i < 20_000; i++) {
+            map.put(i * 31, bytes("v" + i));
+        }
+        for (long i = 0; i < 20_000; i += 2) {
+            assertTrue(map.remove(i * 31));
+        }
+
+        //THEN
+        assertEquals(10_000, map.size());
+        assertFalse(map.remove(0));
+        for (long i = 0; i < 20_000; i++) {
+            if (i % 2 == 0) {
+                assertFalse(map.containsKey(i * 31));
+            } else {
+                assertArrayEquals(bytes("v" + i), map.get(i * 31));
+            }
+        }
+        assertTrue(map.offHeapBytes() > 0);
+    }
+
+    @DisplayName("test cursor visits every entry once")
+    @Test
+    void cursorVisitsEveryEntry() {
+        //GIVEN
+        for (long i = 0; i < 100; i++) {
+            map.put(i, new byte[]{(byte) i});
+        }
+
+        //WHEN
+        long keySum = 0;
+        int count = 0;
+        byte[] target = new byte[16];
+        OffHeapLongBytesMap.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            assertEquals(1, cursor.value(target));
+            assertEquals((byte) cursor.key(), target[0]);
+            keySum += cursor.key();
+            count++;
+        }
+
+        //THEN
+        assertEquals(100, count);
+        assertEquals(4950, keySum);
+        assertThrows(NoSuchElementException.class, cursor::key);
+    }
+
+    @DisplayName("test clear and close")
+    @Test
+    void clearAndCloseWorkCorrect() {
+        //GIVEN
+        map.put(1, bytes("A"));
+
+        //WHEN
+        map.clear();
+
+        //THEN
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+
+        //WHEN
+        map.close();
+
+        //THEN
+        assertEquals(0, map.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> map.get(1));
+        assertThrows(IllegalStateException.class, () -> map.put(1, bytes("A")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
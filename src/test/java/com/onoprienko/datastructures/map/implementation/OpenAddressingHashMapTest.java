@@ -0,0 +1,101 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.Map;
+import com.onoprienko.datastructures.map.Map.Entry;
+import com.onoprienko.datastructures.map.OpenAddressingHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAddressingHashMapTest extends AbstractMapTest {
+
+    @Override
+    protected Map<String, String> getMap() {
+        return new OpenAddressingHashMap<>();
+    }
+
+    @DisplayName("test colliding keys stay reachable after removing from the middle of a probe chain")
+    @Test
+    void removeFromProbeChainKeepsOtherKeysReachable() {
+        //GIVEN
+        OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>(8);
+        for (int i = 0; i < 5; i++) {
+            map.put(i * 8, i);
+        }
+
+        //WHEN
+        assertEquals(2, map.remove(16));
+
+        //THEN
+        assertEquals(4, map.size());
+        assertEquals(0, map.get(0));
+        assertEquals(1, map.get(8));
+        assertNull(map.get(16));
+        assertEquals(3, map.get(24));
+        assertEquals(4, map.get(32));
+    }
+
+    @DisplayName("test iterator visits every entry once when removals shift entries across the table end")
+    @Test
+    void iteratorRemoveVisitsEveryEntryOnceWhenChainWraps() {
+        //GIVEN
+        OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>(16);
+        for (int i = 0; i < 6; i++) {
+            map.put(15 + i * 16, i);
+        }
+        map.put(1, 100);
+        Set<Integer> visited = new HashSet<>();
+
+        //WHEN
+        Iterator<Entry<Integer, Integer>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            Entry<Integer, Integer> entry = iterator.next();
+            assertTrue(visited.add(entry.getKey()));
+            iterator.remove();
+        }
+
+        //THEN
+        assertEquals(7, visited.size());
+        assertEquals(0, map.size());
+    }
+
+    @DisplayName("test entry setValue writes through to the map")
+    @Test
+    void entrySetValueWritesThrough() {
+        //GIVEN
+        Map<String, String> map = getMap();
+        map.put("A", "A");
+
+        //WHEN
+        map.iterator().next().setValue("B");
+
+        //THEN
+        assertEquals("B", map.get("A"));
+    }
+
+    @DisplayName("test put and remove many keys keep map consistent")
+    @Test
+    void putAndRemoveManyKeysKeepMapConsistent() {
+        //GIVEN
+        OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            map.put(i, i);
+        }
+
+        //WHEN
+        for (int i = 0; i < 20000; i += 2) {
+            assertEquals(i, map.remove(i));
+        }
+
+        //THEN
+        assertEquals(10000, map.size());
+        for (int i = 0; i < 20000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(i));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.Map.Entry;
+import com.onoprienko.datastructures.map.PersistentHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    @DisplayName("test with and without return new versions and keep old ones intact")
+    @Test
+    void withAndWithoutKeepOldVersions() {
+        //GIVEN
+        PersistentHashMap<String, String> empty = PersistentHashMap.empty();
+
+        //WHEN
+        PersistentHashMap<String, String> first = empty.with("A", "1");
+        PersistentHashMap<String, String> second = first.with("B", "2").with(null, "null");
+        PersistentHashMap<String, String> third = second.with("A", "11").without("B");
+
+        //THEN
+        assertEquals(0, empty.size());
+        assertEquals(1, first.size());
+        assertEquals("1", first.get("A"));
+        assertFalse(first.containsKey("B"));
+        assertEquals(3, second.size());
+        assertEquals("1", second.get("A"));
+        assertEquals("null", second.get(null));
+        assertEquals(2, third.size());
+        assertEquals("11", third.get("A"));
+        assertFalse(third.containsKey("B"));
+        assertSame(third, third.without("missing"));
+        assertSame(third, third.with("A", third.get("A")));
+    }
+
+    @DisplayName("test mutating Map methods throw UnsupportedOperationException")
+    @Test
+    void mutatingMethodsThrowUnsupportedOperationException() {
+        //GIVEN
+        PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty().with("A", "1");
+
+        //THEN
+        assertThrows(UnsupportedOperationException.class, () -> map.put("B", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("A"));
+        assertThrows(UnsupportedOperationException.class, () -> map.iterator().next().setValue("2"));
+    }
+
+    @DisplayName("test random operations match java.util.HashMap and keep snapshots stable")
+    @Test
+    void randomOperationsMatchJdkHashMap() {
+        //GIVEN
+        Random random = new Random(7);
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        PersistentHashMap<Integer, Integer> snapshot = null;
+        java.util.HashMap<Integer, Integer> snapshotExpected = null;
+
+        //WHEN
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+            if (i == 10_000) {
+                snapshot = map;
+                snapshotExpected = new java.util.HashMap<>(expected);
+            }
+        }
+
+        //THEN
+        assertMatches(expected, map);
+        assertMatches(snapshotExpected, snapshot);
+    }
+
+    @DisplayName("test keys with equal hash codes are kept in collision nodes")
+    @Test
+    void collidingKeysAreKept() {
+        //GIVEN
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+
+        //WHEN
+        for (int i = 0; i < 10; i++) {
+            map = map.with(new CollidingKey(i), i);
+        }
+        PersistentHashMap<CollidingKey, Integer> removed = map;
+        for (int i = 0; i < 9; i++) {
+            removed = removed.without(new CollidingKey(i));
+        }
+
+        //THEN
+        assertEquals(10, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, map.get(new CollidingKey(i)));
+        }
+        assertEquals(1, removed.size());
+        assertEquals(9, removed.get(new CollidingKey(9)));
+        assertFalse(removed.containsKey(new CollidingKey(0)));
+    }
+
+    @DisplayName("test builder batches updates without touching the source version")
+    @Test
+    void builderBatchesUpdates() {
+        //GIVEN
+        PersistentHashMap<Integer, Integer> source = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            source = source.with(i, i);
+        }
+
+        //WHEN
+        PersistentHashMap.Builder<Integer, Integer> builder = source.toBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.put(i, i * 10);
+        }
+        for (int i = 100; i < 1000; i++) {
+            builder.put(i, i * 10);
+        }
+        assertEquals(990, builder.remove(99));
+        builder.merge(0, 5, Integer::sum);
+        PersistentHashMap<Integer, Integer> built = builder.build();
+        builder.put(1, -1);
+
+        //THEN
+        assertEquals(100, source.size());
+        assertEquals(50, source.get(50));
+        assertEquals(999, built.size());
+        assertEquals(5, built.get(0));
+        assertEquals(10, built.get(1));
+        assertFalse(built.containsKey(99));
+        assertEquals(-1, builder.get(1));
+        assertEquals(999, builder.size());
+    }
+
+    @DisplayName("test iterator visits every entry once")
+    @Test
+    void iteratorVisitsEveryEntry() {
+        //GIVEN
+        PersistentHashMap.Builder<Integer, Integer> builder = PersistentHashMap.builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.put(i, i);
+        }
+        PersistentHashMap<Integer, Integer> map = builder.build();
+
+        //WHEN
+        int[] visits = new int[5000];
+        Iterator<Entry<Integer, Integer>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            visits[entry.getKey()]++;
+        }
+        map.forEach((key, value) -> visits[key]++);
+
+        //THEN
+        for (int count : visits) {
+            assertEquals(2, count);
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertFalse(PersistentHashMap.empty().iterator().hasNext());
+    }
+
+    @DisplayName("test builder iterator removes returned entries and still visits the rest")
+    @Test
+    void builderIteratorRemovesEntries() {
+        //GIVEN
+        PersistentHashMap.Builder<Integer, Integer> builder = PersistentHashMap.builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.put(i, i);
+        }
+        PersistentHashMap.Builder<CollidingKey, Integer> collisions = PersistentHashMap.builder();
+        for (int i = 0; i < 10; i++) {
+            collisions.put(new CollidingKey(i), i);
+        }
+
+        //WHEN
+        int[] visits = new int[5000];
+        Iterator<Entry<Integer, Integer>> iterator = builder.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            Entry<Integer, Integer> entry = iterator.next();
+            visits[entry.getKey()]++;
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Iterator<Entry<CollidingKey, Integer>> collisionIterator = collisions.iterator();
+        while (collisionIterator.hasNext()) {
+            if (collisionIterator.next().getValue() != 9) {
+                collisionIterator.remove();
+            }
+        }
+
+        //THEN
+        for (int count : visits) {
+            assertEquals(1, count);
+        }
+        assertEquals(2500, builder.size());
+        PersistentHashMap<Integer, Integer> built = builder.build();
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, built.get(i));
+        }
+        assertEquals(1, collisions.size());
+        assertEquals(9, collisions.get(new CollidingKey(9)));
+    }
+
+    private static void assertMatches(java.util.HashMap<Integer, Integer> expected, PersistentHashMap<Integer, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key)));
+        int count = 0;
+        for (Entry<Integer, Integer> entry : actual) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    private static class CollidingKey {
+        private final int id;
+
+        private CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey && ((CollidingKey) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.onoprienko.datastructures.map.implementation;
+
+import com.onoprienko.datastructures.map.HashMap;
+import com.onoprienko.datastructures.map.Map.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeBucketHashMapTest {
+    private static final int KEYS_COUNT = 500;
+
+    @DisplayName("test comparable keys with the same hash stay reachable after treeify")
+    @Test
+    void comparableCollidingKeysStayReachable() {
+        //GIVEN
+        HashMap<ComparableKey, Integer> map = new HashMap<>(64);
+
+        //WHEN
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            map.put(new ComparableKey(i), i);
+        }
+
+        //THEN
+        assertEquals(KEYS_COUNT, map.size());
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            assertEquals(i, map.get(new ComparableKey(i)));
+        }
+        assertNull(map.get(new ComparableKey(KEYS_COUNT)));
+    }
+
+    @DisplayName("test not comparable keys with the same hash stay reachable after treeify")
+    @Test
+    void notComparableCollidingKeysStayReachable() {
+        //GIVEN
+        HashMap<Key, Integer> map = new HashMap<>(64);
+
+        //WHEN
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            map.put(new Key(i), i);
+        }
+        map.put(new Key(7), -7);
+
+        //THEN
+        assertEquals(KEYS_COUNT, map.size());
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            assertEquals(i == 7 ? -7 : i, map.get(new Key(i)));
+        }
+        assertFalse(map.containsKey(new Key(KEYS_COUNT)));
+    }
+
+    @DisplayName("test remove from tree bucket down to empty keeps other keys reachable")
+    @Test
+    void removeFromTreeBucketKeepsOtherKeys() {
+        //GIVEN
+        HashMap<ComparableKey, Integer> map = new HashMap<>(64);
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            map.put(new ComparableKey(i), i);
+        }
+
+        //WHEN
+        for (int i = 0; i < KEYS_COUNT; i += 2) {
+            assertEquals(i, map.remove(new ComparableKey(i)));
+        }
+
+        //THEN
+        assertEquals(KEYS_COUNT / 2, map.size());
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(new ComparableKey(i)));
+        }
+        for (int i = 1; i < KEYS_COUNT; i += 2) {
+            assertEquals(i, map.remove(new ComparableKey(i)));
+        }
+        assertEquals(0, map.size());
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @DisplayName("test compute family removes entries of tree bucket when function returns null")
+    @Test
+    void computeFamilyRemovesFromTreeBucket() {
+        //GIVEN
+        HashMap<ComparableKey, Integer> map = new HashMap<>(64);
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            map.put(new ComparableKey(i), i);
+        }
+
+        //WHEN
+        for (int i = 0; i < KEYS_COUNT - 3; i++) {
+            ComparableKey key = new ComparableKey(i);
+            if (i % 3 == 0) {
+                assertNull(map.computeIfPresent(key, (k, value) -> null));
+            } else if (i % 3 == 1) {
+                assertNull(map.compute(key, (k, value) -> null));
+            } else {
+                assertNull(map.merge(key, 1, (value, one) -> null));
+            }
+        }
+
+        //THEN
+        assertEquals(3, map.size());
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            assertEquals(i < KEYS_COUNT - 3 ? null : i, map.get(new ComparableKey(i)));
+        }
+        assertNull(map.compute(new ComparableKey(0), (k, value) -> null));
+        assertEquals(3, map.size());
+    }
+
+    @DisplayName("test iterator visits and removes every entry of tree bucket")
+    @Test
+    void iteratorRemovesEveryEntryOfTreeBucket() {
+        //GIVEN
+        HashMap<Key, Integer> map = new HashMap<>(64);
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            map.put(new Key(i), i);
+        }
+        Set<Integer> visited = new HashSet<>();
+
+        //WHEN
+        Iterator<Entry<Key, Integer>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            Entry<Key, Integer> entry = iterator.next();
+            assertTrue(visited.add(entry.getValue()));
+            if (entry.getValue() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+
+        //THEN
+        assertEquals(KEYS_COUNT, visited.size());
+        for (int i = 0; i < KEYS_COUNT; i++) {
+            assertEquals(i % 3 != 0, map.containsKey(new Key(i)));
+        }
+    }
+
+    @DisplayName("test tree buckets survive resize in both resize modes")
+    @Test
+    void treeBucketsSurviveResize() {
+        for (boolean incremental : new boolean[]{false, true}) {
+            //GIVEN
+            HashMap<ComparableKey, Integer> map = new HashMap<>(64, incremental);
+
+            //WHEN
+            for (int i = 0; i < KEYS_COUNT * 4; i++) {
+                map.put(new ComparableKey(i, i % 4), i);
+            }
+
+            //THEN
+            assertEquals(KEYS_COUNT * 4, map.size());
+            for (int i = 0; i < KEYS_COUNT * 4; i++) {
+                assertEquals(i, map.get(new ComparableKey(i, i % 4)));
+            }
+        }
+    }
+
+    private static class Key {
+        private final int id;
+        private final int hash;
+
+        Key(int id) {
+            this(id, 1);
+        }
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id && o.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class ComparableKey extends Key implements Comparable<ComparableKey> {
+        private final int order;
+
+        ComparableKey(int id) {
+            this(id, 1);
+        }
+
+        ComparableKey(int id, int hash) {
+            super(id, hash);
+            this.order = id;
+        }
+
+        @Override
+        public int compareTo(ComparableKey other) {
+            return Integer.compare(order, other.order);
+        }
+    }
+}